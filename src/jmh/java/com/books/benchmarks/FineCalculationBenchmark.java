@@ -0,0 +1,57 @@
+package com.books.benchmarks;
+
+import com.books.strategy.FineCalculationStrategy;
+import com.books.strategy.ProgressiveFineStrategy;
+import com.books.strategy.SimpleFineStrategy;
+import com.books.strategy.WeekendAwareFineStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Расчёт штрафа каждой стратегией при короткой, средней и длинной просрочке
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FineCalculationBenchmark {
+
+    @Param({"SIMPLE", "PROGRESSIVE", "WEEKEND_AWARE"})
+    public String strategy;
+
+    @Param({"3", "20", "365"})
+    public int daysOverdue;
+
+    private FineCalculationStrategy fineStrategy;
+    private LocalDateTime expectedReturn;
+    private LocalDateTime actualReturn;
+
+    @Setup
+    public void setUp() {
+        fineStrategy = switch (strategy) {
+            case "SIMPLE" -> new SimpleFineStrategy();
+            case "PROGRESSIVE" -> new ProgressiveFineStrategy();
+            case "WEEKEND_AWARE" -> new WeekendAwareFineStrategy();
+            default -> throw new IllegalArgumentException("Неизвестная стратегия: " + strategy);
+        };
+        expectedReturn = LocalDateTime.of(2024, 1, 10, 12, 0);
+        actualReturn = expectedReturn.plusDays(daysOverdue).plusHours(3);
+    }
+
+    @Benchmark
+    public double calculateFine() {
+        return fineStrategy.calculateFine(expectedReturn, actualReturn, 50.0);
+    }
+}
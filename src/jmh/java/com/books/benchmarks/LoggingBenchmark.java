@@ -0,0 +1,112 @@
+package com.books.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Строка "Create Order ..." из OrderService под конкурентной нагрузкой: синхронный println
+// с конкатенацией против SLF4J с параметрами через AsyncAppender, как в logback-spring.xml.
+// Оба варианта пишут в один и тот же файл с автосбросом после каждой строки, как stdout.
+// neverBlock=false показывает пропускную способность, ограниченную фоновым писателем,
+// neverBlock=true - поведение продакшен-конфигурации, где при переполнении события отбрасываются
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"false", "true"})
+    public boolean neverBlock;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID bookInstanceId = UUID.randomUUID();
+
+    private Path file;
+    private PrintStream printStream;
+    private LoggerContext loggerContext;
+    private Logger log;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("logging-benchmark", ".log");
+        printStream = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), true)), true);
+
+        loggerContext = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(loggerContext);
+        sink.setEncoder(encoder);
+        sink.setImmediateFlush(true);
+        sink.setOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile(), true)));
+        sink.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(neverBlock);
+        async.addAppender(sink);
+        async.start();
+
+        log = loggerContext.getLogger("com.books.services.OrderService");
+        log.setAdditive(false);
+        log.setLevel(Level.INFO);
+        log.addAppender(async);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        printStream.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void systemOutPrintln() {
+        printStream.println("Create Order for user: " + userId + " and book instance: " + bookInstanceId);
+    }
+
+    @Benchmark
+    public void asyncParameterized() {
+        log.info("Create Order for user: {} and book instance: {}", userId, bookInstanceId);
+    }
+
+    // Сообщение уровня DEBUG при уровне INFO: только проверка уровня, без форматирования
+    @Benchmark
+    public void disabledDebug() {
+        log.debug("Create Order for user: {} and book instance: {}", userId, bookInstanceId);
+    }
+}
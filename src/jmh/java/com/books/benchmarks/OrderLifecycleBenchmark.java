@@ -0,0 +1,105 @@
+package com.books.benchmarks;
+
+import com.books.dto.CreateOrderDTO;
+import com.books.dto.OrderDTO;
+import com.books.entities.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Горячие пути жизненного цикла заказа через OrderService с транзакциями и реальными запросами к БД.
+// Throughput даёт операции в секунду, SampleTime - перцентили задержки, -prof gc - скорость аллокаций
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderLifecycleBenchmark {
+
+    // Свободный экземпляр и читатель для нового заказа; после замера заказ отменяется,
+    // чтобы экземпляр снова стал доступен, а у читателя не копились активные заказы
+    @State(Scope.Thread)
+    public static class FreeCopy {
+        CreateOrderDTO request;
+        UUID createdOrderId;
+
+        @Setup(Level.Invocation)
+        public void pick(SeededStore store) {
+            int copy = store.nextCopy();
+            request = new CreateOrderDTO();
+            request.setUserId(store.userIds[copy % store.userIds.length]);
+            request.setBookInstanceId(store.instanceIds[copy]);
+            request.setExpectedReturnDate(LocalDateTime.now().plusDays(14));
+            createdOrderId = null;
+        }
+
+        @TearDown(Level.Invocation)
+        public void release(SeededStore store) {
+            if (createdOrderId != null) {
+                store.orderService.cancelOrder(createdOrderId);
+            }
+        }
+    }
+
+    // Только что созданный заказ в статусе CREATED; после замера освобождается, если ещё активен
+    @State(Scope.Thread)
+    public static class CreatedOrder {
+        UUID orderId;
+
+        @Setup(Level.Invocation)
+        public void create(SeededStore store) {
+            int copy = store.nextCopy();
+            CreateOrderDTO request = new CreateOrderDTO();
+            request.setUserId(store.userIds[copy % store.userIds.length]);
+            request.setBookInstanceId(store.instanceIds[copy]);
+            request.setExpectedReturnDate(LocalDateTime.now().plusDays(14));
+            orderId = store.orderService.createOrderWithBuilder(request).getId();
+        }
+
+        @TearDown(Level.Invocation)
+        public void release(SeededStore store) {
+            OrderStatus status = store.orderService.findById(orderId).getStatus();
+            if (status != OrderStatus.CANCELLED && status != OrderStatus.RETURNED) {
+                store.orderService.cancelOrder(orderId);
+            }
+        }
+    }
+
+    @Benchmark
+    public OrderDTO createOrderWithBuilder(SeededStore store, FreeCopy copy) {
+        OrderDTO order = store.orderService.createOrderWithBuilder(copy.request);
+        copy.createdOrderId = order.getId();
+        return order;
+    }
+
+    @Benchmark
+    public OrderDTO updateOrderStatus(SeededStore store, CreatedOrder order) {
+        return store.orderService.updateOrderStatus(order.orderId, OrderStatus.ISSUED);
+    }
+
+    @Benchmark
+    public void cancelOrder(SeededStore store, CreatedOrder order) {
+        store.orderService.cancelOrder(order.orderId);
+    }
+
+    // Загрузка заказа по графу Order.detail и convertToDTO - путь GET /api/orders/{id}
+    @Benchmark
+    public OrderDTO findById(SeededStore store) {
+        UUID orderId = store.orderIds[ThreadLocalRandom.current().nextInt(store.orderIds.length)];
+        return store.orderService.findById(orderId);
+    }
+}
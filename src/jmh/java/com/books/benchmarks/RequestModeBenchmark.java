@@ -0,0 +1,42 @@
+package com.books.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Нагрузочный тест блокирующего HTTP-пути GET /api/orders/{id} (Tomcat -> JDBC) в режимах
+// platform и virtual. Клиентских потоков больше, чем потоков Tomcat по умолчанию (200),
+// поэтому в режиме platform запросы ждут свободный поток, а в virtual - соединение из пула.
+// Throughput - запросы в миллисекунду, SampleTime - перцентили задержки, включая p0.99.
+// Пример: -Djmh.args="RequestMode -p scale=10000 -p poolSize=10,50"
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(400)
+public class RequestModeBenchmark {
+
+    @Benchmark
+    public int getOrder(ServedStore store) throws IOException, InterruptedException {
+        UUID orderId = store.orderIds[ThreadLocalRandom.current().nextInt(store.orderIds.length)];
+        HttpRequest request = HttpRequest.newBuilder(store.uri("/api/orders/" + orderId)).GET().build();
+        HttpResponse<Void> response = store.httpClient().send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/orders/" + orderId + " вернул " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
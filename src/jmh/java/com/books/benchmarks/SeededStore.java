@@ -0,0 +1,149 @@
+package com.books.benchmarks;
+
+import com.books.booksApplication;
+import com.books.entities.*;
+import com.books.services.OrderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Контекст приложения на встроенной H2 (режим PostgreSQL) с заранее заполненными данными:
+// scale экземпляров книг и столько же завершённых заказов, книг в 10 раз меньше, 10 библиотек.
+// Уведомления идут в записывающие заглушки (профиль stub), внешние сервисы не вызываются
+@State(Scope.Benchmark)
+public class SeededStore {
+
+    private static final int SEED_CHUNK = 1_000;
+    private static final int LIBRARIES = 10;
+
+    @Param({"10000", "1000000"})
+    public int scale;
+
+    ConfigurableApplicationContext context;
+    OrderService orderService;
+    UUID[] userIds;
+    UUID[] instanceIds;
+    UUID[] orderIds;
+
+    private final AtomicInteger nextCopy = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = application().run();
+        orderService = context.getBean(OrderService.class);
+        seed(context.getBean(EntityManagerFactory.class));
+    }
+
+    // Состояния-наследники дополняют конфигурацию приложения, например поднимают веб-сервер
+    protected SpringApplicationBuilder application() {
+        return new SpringApplicationBuilder(booksApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("stub")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + SEED_CHUNK,
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "logging.level.root=WARN");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // Следующий экземпляр по кругу; к моменту повторной выдачи предыдущий заказ на него уже отменён
+    int nextCopy() {
+        return Math.floorMod(nextCopy.getAndIncrement(), instanceIds.length);
+    }
+
+    private void seed(EntityManagerFactory entityManagerFactory) {
+        int bookCount = Math.max(scale / 10, 1);
+        int userCount = Math.max(scale / 10, 1);
+        List<UUID> libraries = new ArrayList<>(LIBRARIES);
+        List<UUID> books = new ArrayList<>(bookCount);
+        userIds = new UUID[userCount];
+        instanceIds = new UUID[scale];
+        orderIds = new UUID[scale];
+
+        inChunks(entityManagerFactory, LIBRARIES, (em, i) -> {
+            Library library = new Library();
+            library.setName("Библиотека " + i);
+            library.setAddress("Улица " + i);
+            em.persist(library);
+            libraries.add(library.getId());
+        });
+        inChunks(entityManagerFactory, bookCount, (em, i) -> {
+            Book book = new Book();
+            book.setTitle("Книга " + i);
+            book.setAuthor("Автор " + (i % 1_000));
+            book.setPublicationYear(1900 + i % 120);
+            em.persist(book);
+            books.add(book.getId());
+        });
+        inChunks(entityManagerFactory, userCount, (em, i) -> {
+            User user = new User();
+            user.setFullName("Читатель " + i);
+            user.setEmail("reader" + i + "@example.com");
+            user.setPassword("password");
+            user.setRole(UserRole.READER);
+            user.setStatus(UserStatus.ACTIVE);
+            em.persist(user);
+            userIds[i] = user.getId();
+        });
+        LocalDateTime now = LocalDateTime.now();
+        inChunks(entityManagerFactory, scale, (em, i) -> {
+            BookInstance bookInstance = new BookInstance();
+            bookInstance.setBook(em.getReference(Book.class, books.get(i % bookCount)));
+            bookInstance.setLibrary(em.getReference(Library.class, libraries.get(i % LIBRARIES)));
+            bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
+            em.persist(bookInstance);
+            instanceIds[i] = bookInstance.getId();
+
+            Order order = new Order();
+            order.setUser(em.getReference(User.class, userIds[i % userCount]));
+            order.setBookInstance(bookInstance);
+            order.setStatus(OrderStatus.RETURNED);
+            order.setActualIssueDate(now.minusDays(30));
+            order.setExpectedReturnDate(now.minusDays(16));
+            order.setActualReturnDate(now.minusDays(20));
+            em.persist(order);
+            orderIds[i] = order.getId();
+        });
+    }
+
+    private static void inChunks(EntityManagerFactory entityManagerFactory, int count, Seeder seeder) {
+        for (int from = 0; from < count; from += SEED_CHUNK) {
+            EntityManager em = entityManagerFactory.createEntityManager();
+            try {
+                em.getTransaction().begin();
+                for (int i = from; i < Math.min(from + SEED_CHUNK, count); i++) {
+                    seeder.seed(em, i);
+                }
+                em.getTransaction().commit();
+            } finally {
+                em.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Seeder {
+        void seed(EntityManager em, int index);
+    }
+}
@@ -0,0 +1,61 @@
+package com.books.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+// Те же данные, что и в SeededStore, но приложение слушает HTTP на случайном порту.
+// mode=platform - пул потоков Tomcat, mode=virtual - spring.threads.virtual.enabled=true (JDK 21+)
+@State(Scope.Benchmark)
+public class ServedStore extends SeededStore {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"10"})
+    public int poolSize;
+
+    private volatile HttpClient httpClient;
+    private volatile URI baseUri;
+
+    @Override
+    protected SpringApplicationBuilder application() {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Режим virtual требует JDK 21+, текущая версия: " + Runtime.version());
+        }
+        return super.application()
+                .web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize);
+    }
+
+    HttpClient httpClient() {
+        if (httpClient == null) {
+            synchronized (this) {
+                if (httpClient == null) {
+                    httpClient = HttpClient.newBuilder()
+                            .version(HttpClient.Version.HTTP_1_1)
+                            .connectTimeout(Duration.ofSeconds(5))
+                            .build();
+                }
+            }
+        }
+        return httpClient;
+    }
+
+    URI uri(String path) {
+        if (baseUri == null) {
+            baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        }
+        return baseUri.resolve(path);
+    }
+}
@@ -11,6 +11,32 @@ public class ApplicationConfig {
     private double overdueFinePerDay = 50.0;
     private String libraryName = "Центральная библиотека";
     private String systemEmail = "library@example.com";
+    private int defaultPageSize = 50;
+    private int maxPageSize = 500;
+    private int maxBulkOrderSize = 200;
+    private boolean auditAsyncEnabled = true;
+    private int auditBatchSize = 100;
+    private int auditQueueCapacity = 10_000;
+    private long auditFlushIntervalMillis = 200;
+    private int auditMaxAttempts = 5;
+    private int auditDeadLetterCapacity = 10_000;
+    private int auditRetentionMonths = 12;
+    private String auditArchiveDir = "archive/order_audit";
+    private int notificationWorkers = 4;
+    private int notificationQueueCapacity = 1000;
+    private int notificationMaxAttempts = 3;
+    private long notificationRetryBaseDelayMillis = 1000;
+    private int notificationDeadLetterCapacity = 1000;
+    private long notificationDedupMaxSize = 10_000;
+    private long notificationDedupTtlMinutes = 60;
+    private int notificationBatchSize = 100;
+    private long notificationBatchWindowMillis = 500;
+    private int overdueChunkSize = 500;
+    private int reservationExpiryBatchSize = 500;
+    private long catalogCacheMaxSize = 10_000;
+    private long catalogCacheTtlMinutes = 30;
+    private long entityCacheMaxSize = 10_000;
+    private long entityCacheTtlMinutes = 60;
 
     public int getReservationPeriodDays() {
         return reservationPeriodDays;
@@ -31,4 +57,108 @@ public class ApplicationConfig {
     public String getSystemEmail() {
         return systemEmail;
     }
-}
\ No newline at end of file
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public int getMaxBulkOrderSize() {
+        return maxBulkOrderSize;
+    }
+
+    public boolean isAuditAsyncEnabled() {
+        return auditAsyncEnabled;
+    }
+
+    public int getAuditBatchSize() {
+        return auditBatchSize;
+    }
+
+    public int getAuditQueueCapacity() {
+        return auditQueueCapacity;
+    }
+
+    public long getAuditFlushIntervalMillis() {
+        return auditFlushIntervalMillis;
+    }
+
+    public int getAuditMaxAttempts() {
+        return auditMaxAttempts;
+    }
+
+    public int getAuditDeadLetterCapacity() {
+        return auditDeadLetterCapacity;
+    }
+
+    public int getAuditRetentionMonths() {
+        return auditRetentionMonths;
+    }
+
+    public String getAuditArchiveDir() {
+        return auditArchiveDir;
+    }
+
+    public int getNotificationWorkers() {
+        return notificationWorkers;
+    }
+
+    public int getNotificationQueueCapacity() {
+        return notificationQueueCapacity;
+    }
+
+    public int getNotificationMaxAttempts() {
+        return notificationMaxAttempts;
+    }
+
+    public long getNotificationRetryBaseDelayMillis() {
+        return notificationRetryBaseDelayMillis;
+    }
+
+    public int getNotificationDeadLetterCapacity() {
+        return notificationDeadLetterCapacity;
+    }
+
+    public long getNotificationDedupMaxSize() {
+        return notificationDedupMaxSize;
+    }
+
+    public long getNotificationDedupTtlMinutes() {
+        return notificationDedupTtlMinutes;
+    }
+
+    public int getNotificationBatchSize() {
+        return notificationBatchSize;
+    }
+
+    public long getNotificationBatchWindowMillis() {
+        return notificationBatchWindowMillis;
+    }
+
+    public int getOverdueChunkSize() {
+        return overdueChunkSize;
+    }
+
+    public int getReservationExpiryBatchSize() {
+        return reservationExpiryBatchSize;
+    }
+
+    public long getCatalogCacheMaxSize() {
+        return catalogCacheMaxSize;
+    }
+
+    public long getCatalogCacheTtlMinutes() {
+        return catalogCacheTtlMinutes;
+    }
+
+    public long getEntityCacheMaxSize() {
+        return entityCacheMaxSize;
+    }
+
+    public long getEntityCacheTtlMinutes() {
+        return entityCacheTtlMinutes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.books.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+// Кэш каталога (книги, библиотеки) в памяти. Кэширующий advice стоит снаружи транзакционного,
+// поэтому запись и инвалидация кэша выполняются после коммита, а не до него
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String BOOKS = "books";
+    public static final String LIBRARIES = "libraries";
+    public static final String LIBRARY_LIST = "libraryList";
+
+    @Bean
+    public CacheManager cacheManager(ApplicationConfig config) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(BOOKS, LIBRARIES, LIBRARY_LIST);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(config.getCatalogCacheMaxSize())
+                .expireAfterWrite(Duration.ofMinutes(config.getCatalogCacheTtlMinutes()))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
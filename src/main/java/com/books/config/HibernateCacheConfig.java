@@ -0,0 +1,49 @@
+package com.books.config;
+
+import com.books.entities.Book;
+import com.books.entities.Library;
+import com.books.entities.User;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Кэш второго уровня Hibernate для справочных сущностей (книги, библиотеки, пользователи),
+// которые подгружаются с каждым заказом. Регионы ограничены по размеру и времени жизни;
+// изменения через EntityManager обновляют кэш сами (READ_WRITE), bulk-UPDATE сбрасывает регион
+@Configuration
+public class HibernateCacheConfig {
+
+    static final List<Class<?>> CACHED_ENTITIES = List.of(Book.class, Library.class, User.class);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(ApplicationConfig config) {
+        // Собственный провайдер, а не Caching.getCachingProvider(): у каждого контекста свой набор регионов
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (Class<?> entity : CACHED_ENTITIES) {
+            CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+            region.setMaximumSize(OptionalLong.of(config.getEntityCacheMaxSize()));
+            region.setExpireAfterWrite(OptionalLong.of(Duration.ofMinutes(config.getEntityCacheTtlMinutes()).toNanos()));
+            region.setStatisticsEnabled(true);
+            cacheManager.createCache(entity.getName(), region);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.books.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.MethodMatcher;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Service;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// Таймер books.service.calls{class,method,exception} вокруг каждого публичного метода @Service.
+// Advice стоит снаружи кэширующего и транзакционного, поэтому в замер входит и коммит.
+// Метрики репозиториев (spring.data.repository.invocations) и HTTP (http.server.requests)
+// собирает автоконфигурация Spring Boot, здесь они только дополняются гистограммами
+@Configuration
+@EnableAspectJAutoProxy(proxyTargetClass = true)
+public class MetricsConfig {
+
+    public static final String SERVICE_CALLS = "books.service.calls";
+
+    // Реестр берётся лениво: advisor создаётся раньше, чем реестр успевают настроить
+    @Bean
+    public static Advisor serviceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        MethodMatcher publicMethods = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(new AnnotationMatchingPointcut(Service.class, true).getClassFilter(), publicMethods),
+                new ServiceTimingInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    static class ServiceTimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        ServiceTimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(Timer.builder(SERVICE_CALLS)
+                        .description("Время выполнения методов сервисов")
+                        .tag("class", AopUtils.getTargetClass(invocation.getThis()).getSimpleName())
+                        .tag("method", invocation.getMethod().getName())
+                        .tag("exception", exception)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+        }
+    }
+}
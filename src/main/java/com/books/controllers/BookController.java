@@ -1,6 +1,9 @@
 package com.books.controllers;
 
 import com.books.dto.BookDTO;
+import com.books.dto.BookSearchCriteria;
+import com.books.dto.BookSearchPageDTO;
+import com.books.dto.BookSuggestionDTO;
 import com.books.dto.CreateBookDTO;
 import com.books.dto.UpdateBookDTO;
 import com.books.services.BookService;
@@ -14,25 +17,54 @@ import java.util.UUID;
 @RequestMapping("/api/books")
 public class BookController {
 
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     private final BookService bookService;
 
     public BookController(BookService bookService) {
         this.bookService = bookService;
     }
 
+    // Все фильтры применяются вместе; общее число найденных книг - в заголовке X-Total-Count
     @GetMapping
     public ResponseEntity<List<BookDTO>> getAllBooks(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String author,
-            @RequestParam(required = false) Integer year) {
-
-        List<BookDTO> books;
-        if (title != null || author != null || year != null) {
-            books = bookService.searchBooks(title, author, year);
-        } else {
-            books = bookService.findAll();
-        }
-        return ResponseEntity.ok(books);
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(required = false) UUID libraryId,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction) {
+
+        BookSearchCriteria criteria = new BookSearchCriteria(title, author,
+                year != null ? year : yearFrom,
+                year != null ? year : yearTo,
+                libraryId, available);
+        BookSearchPageDTO result = bookService.searchBooks(criteria, page, size, sort, direction);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotal()))
+                .body(result.getItems());
+    }
+
+    // Подсказки для строки поиска: названия и авторы, начинающиеся с префикса
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<BookSuggestionDTO>> autocomplete(@RequestParam String prefix,
+                                                                @RequestParam(required = false) Integer limit) {
+        List<BookSuggestionDTO> suggestions = bookService.autocomplete(prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    // Полнотекстовый поиск по названию и автору, результаты по релевантности
+    @GetMapping("/search")
+    public ResponseEntity<BookSearchPageDTO> fullTextSearch(@RequestParam String q,
+                                                            @RequestParam(required = false) Integer page,
+                                                            @RequestParam(required = false) Integer size) {
+        BookSearchPageDTO result = bookService.fullTextSearch(q, page, size);
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.books.controllers;
 
+import com.books.dto.BookAvailabilityDTO;
 import com.books.dto.BookInstanceDTO;
 import com.books.dto.CreateBookInstanceDTO;
 import com.books.dto.UpdateBookInstanceDTO;
@@ -39,6 +40,12 @@ public class BookInstanceController {
         return ResponseEntity.ok(bookInstances);
     }
 
+    @GetMapping("/book/{bookId}/availability")
+    public ResponseEntity<BookAvailabilityDTO> getBookAvailability(@PathVariable UUID bookId) {
+        BookAvailabilityDTO availability = bookInstanceService.getAvailability(bookId);
+        return ResponseEntity.ok(availability);
+    }
+
     @GetMapping("/library/{libraryId}")
     public ResponseEntity<List<BookInstanceDTO>> getBookInstancesByLibrary(@PathVariable UUID libraryId) {
         List<BookInstanceDTO> bookInstances = bookInstanceService.findByLibraryId(libraryId);
@@ -1,11 +1,14 @@
 package com.books.controllers;
 
 import com.books.dto.OrderAuditDTO;
+import com.books.dto.OrderAuditPageDTO;
 import com.books.entities.AuditOperation;
 import com.books.services.OrderAuditService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,6 +28,19 @@ public class OrderAuditController {
         return ResponseEntity.ok(auditRecords);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<OrderAuditPageDTO> getAuditRecordsPage(
+            @RequestParam(required = false) UUID orderId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) AuditOperation operation,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        OrderAuditPageDTO page = orderAuditService.findPage(orderId, userId, operation, from, to, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderAuditDTO> getAuditRecordById(@PathVariable UUID id) {
         OrderAuditDTO auditRecord = orderAuditService.findById(id);
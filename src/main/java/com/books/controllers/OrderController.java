@@ -1,12 +1,18 @@
 package com.books.controllers;
 
+import com.books.dto.BulkOrderResultDTO;
+import com.books.dto.CreateAnyCopyOrderDTO;
 import com.books.dto.CreateOrderDTO;
 import com.books.dto.OrderDTO;
+import com.books.dto.OrderPageDTO;
 import com.books.dto.UpdateOrderDTO;
 import com.books.entities.OrderStatus;
 import com.books.services.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -15,16 +21,41 @@ import java.util.UUID;
 @RequestMapping("/api/orders")
 public class OrderController {
 
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> getAllOrders() {
-        List<OrderDTO> orders = orderService.findAll();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<OrderPageDTO> getAllOrders(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        OrderPageDTO page = orderService.findPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    // Выгрузка всех заказов в NDJSON: страницы читаются по курсору и сразу пишутся в ответ
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = outputStream -> {
+            String cursor = null;
+            do {
+                OrderPageDTO page = orderService.findPage(cursor, EXPORT_BATCH_SIZE);
+                for (OrderDTO order : page.getItems()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(order));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -57,6 +88,19 @@ public class OrderController {
         return ResponseEntity.ok(createdOrder);
     }
 
+    // Пакетное создание заказов: результат по каждой позиции в порядке запроса
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkOrderResultDTO> createOrdersBulk(@RequestBody List<CreateOrderDTO> orderDTOs) {
+        BulkOrderResultDTO result = orderService.createOrdersBulk(orderDTOs);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/any-copy")
+    public ResponseEntity<OrderDTO> createOrderForAnyCopy(@RequestBody CreateAnyCopyOrderDTO orderDTO) {
+        OrderDTO createdOrder = orderService.createOrderForAnyCopy(orderDTO);
+        return ResponseEntity.ok(createdOrder);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<OrderDTO> updateOrder(@PathVariable UUID id, @RequestBody UpdateOrderDTO orderDTO) {
         OrderDTO updatedOrder = orderService.updateOrder(id, orderDTO);
@@ -0,0 +1,31 @@
+package com.books.dto;
+
+import java.util.UUID;
+
+public class AvailabilityCountDTO {
+    private UUID bookId;
+    private UUID libraryId;
+    private long total;             // всего экземпляров книги в библиотеке
+    private long available;         // из них в статусе AVAILABLE
+
+    public AvailabilityCountDTO() {}
+
+    public AvailabilityCountDTO(UUID bookId, UUID libraryId, long total, long available) {
+        this.bookId = bookId;
+        this.libraryId = libraryId;
+        this.total = total;
+        this.available = available;
+    }
+
+    public UUID getBookId() { return bookId; }
+    public void setBookId(UUID bookId) { this.bookId = bookId; }
+
+    public UUID getLibraryId() { return libraryId; }
+    public void setLibraryId(UUID libraryId) { this.libraryId = libraryId; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getAvailable() { return available; }
+    public void setAvailable(long available) { this.available = available; }
+}
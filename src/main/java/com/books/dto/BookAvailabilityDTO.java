@@ -0,0 +1,32 @@
+package com.books.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class BookAvailabilityDTO {
+    private UUID bookId;
+    private long total;
+    private long available;
+    private List<AvailabilityCountDTO> libraries;   // разбивка по библиотекам
+
+    public BookAvailabilityDTO() {}
+
+    public BookAvailabilityDTO(UUID bookId, long total, long available, List<AvailabilityCountDTO> libraries) {
+        this.bookId = bookId;
+        this.total = total;
+        this.available = available;
+        this.libraries = libraries;
+    }
+
+    public UUID getBookId() { return bookId; }
+    public void setBookId(UUID bookId) { this.bookId = bookId; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public long getAvailable() { return available; }
+    public void setAvailable(long available) { this.available = available; }
+
+    public List<AvailabilityCountDTO> getLibraries() { return libraries; }
+    public void setLibraries(List<AvailabilityCountDTO> libraries) { this.libraries = libraries; }
+}
@@ -0,0 +1,43 @@
+package com.books.dto;
+
+import java.util.UUID;
+
+// Фильтры поиска книг; незаданные (null) поля не ограничивают выборку
+public class BookSearchCriteria {
+    private String title;
+    private String author;
+    private Integer yearFrom;       // год издания от (включительно)
+    private Integer yearTo;         // год издания до (включительно)
+    private UUID libraryId;         // есть экземпляр в библиотеке
+    private Boolean available;      // есть свободный экземпляр (в libraryId, если задана)
+
+    public BookSearchCriteria() {}
+
+    public BookSearchCriteria(String title, String author, Integer yearFrom, Integer yearTo,
+                              UUID libraryId, Boolean available) {
+        this.title = title;
+        this.author = author;
+        this.yearFrom = yearFrom;
+        this.yearTo = yearTo;
+        this.libraryId = libraryId;
+        this.available = available;
+    }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getAuthor() { return author; }
+    public void setAuthor(String author) { this.author = author; }
+
+    public Integer getYearFrom() { return yearFrom; }
+    public void setYearFrom(Integer yearFrom) { this.yearFrom = yearFrom; }
+
+    public Integer getYearTo() { return yearTo; }
+    public void setYearTo(Integer yearTo) { this.yearTo = yearTo; }
+
+    public UUID getLibraryId() { return libraryId; }
+    public void setLibraryId(UUID libraryId) { this.libraryId = libraryId; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+}
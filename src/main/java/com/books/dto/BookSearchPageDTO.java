@@ -0,0 +1,31 @@
+package com.books.dto;
+
+import java.util.List;
+
+public class BookSearchPageDTO {
+    private List<BookDTO> items;    // книги в порядке релевантности
+    private int page;
+    private int size;
+    private long total;             // всего найдено
+
+    public BookSearchPageDTO() {}
+
+    public BookSearchPageDTO(List<BookDTO> items, int page, int size, long total) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+    }
+
+    public List<BookDTO> getItems() { return items; }
+    public void setItems(List<BookDTO> items) { this.items = items; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+}
@@ -0,0 +1,24 @@
+package com.books.dto;
+
+public class BookSuggestionDTO {
+    private String text;            // название или автор в исходном написании
+    private String type;            // TITLE или AUTHOR
+    private int bookCount;          // сколько книг соответствует подсказке
+
+    public BookSuggestionDTO() {}
+
+    public BookSuggestionDTO(String text, String type, int bookCount) {
+        this.text = text;
+        this.type = type;
+        this.bookCount = bookCount;
+    }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public int getBookCount() { return bookCount; }
+    public void setBookCount(int bookCount) { this.bookCount = bookCount; }
+}
@@ -0,0 +1,36 @@
+package com.books.dto;
+
+import java.util.UUID;
+
+public class BulkOrderItemDTO {
+    private int index;              // позиция в запросе
+    private UUID userId;
+    private UUID bookInstanceId;
+    private OrderDTO order;         // null, если заказ не создан
+    private String error;           // null, если заказ создан
+
+    public BulkOrderItemDTO() {}
+
+    public BulkOrderItemDTO(int index, UUID userId, UUID bookInstanceId, OrderDTO order, String error) {
+        this.index = index;
+        this.userId = userId;
+        this.bookInstanceId = bookInstanceId;
+        this.order = order;
+        this.error = error;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public UUID getBookInstanceId() { return bookInstanceId; }
+    public void setBookInstanceId(UUID bookInstanceId) { this.bookInstanceId = bookInstanceId; }
+
+    public OrderDTO getOrder() { return order; }
+    public void setOrder(OrderDTO order) { this.order = order; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,26 @@
+package com.books.dto;
+
+import java.util.List;
+
+public class BulkOrderResultDTO {
+    private int created;
+    private int failed;
+    private List<BulkOrderItemDTO> items;   // в порядке позиций запроса
+
+    public BulkOrderResultDTO() {}
+
+    public BulkOrderResultDTO(int created, int failed, List<BulkOrderItemDTO> items) {
+        this.created = created;
+        this.failed = failed;
+        this.items = items;
+    }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<BulkOrderItemDTO> getItems() { return items; }
+    public void setItems(List<BulkOrderItemDTO> items) { this.items = items; }
+}
@@ -0,0 +1,32 @@
+package com.books.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class CreateAnyCopyOrderDTO {
+    private UUID userId;
+    private UUID bookId;
+    private UUID libraryId;
+    private LocalDateTime expectedReturnDate;
+
+    public CreateAnyCopyOrderDTO() {}
+
+    public CreateAnyCopyOrderDTO(UUID userId, UUID bookId, UUID libraryId, LocalDateTime expectedReturnDate) {
+        this.userId = userId;
+        this.bookId = bookId;
+        this.libraryId = libraryId;
+        this.expectedReturnDate = expectedReturnDate;
+    }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public UUID getBookId() { return bookId; }
+    public void setBookId(UUID bookId) { this.bookId = bookId; }
+
+    public UUID getLibraryId() { return libraryId; }
+    public void setLibraryId(UUID libraryId) { this.libraryId = libraryId; }
+
+    public LocalDateTime getExpectedReturnDate() { return expectedReturnDate; }
+    public void setExpectedReturnDate(LocalDateTime expectedReturnDate) { this.expectedReturnDate = expectedReturnDate; }
+}
@@ -0,0 +1,21 @@
+package com.books.dto;
+
+import java.util.List;
+
+public class OrderAuditPageDTO {
+    private List<OrderAuditDTO> items;
+    private String nextCursor;      // null, если страница последняя
+
+    public OrderAuditPageDTO() {}
+
+    public OrderAuditPageDTO(List<OrderAuditDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderAuditDTO> getItems() { return items; }
+    public void setItems(List<OrderAuditDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,21 @@
+package com.books.dto;
+
+import java.util.List;
+
+public class OrderPageDTO {
+    private List<OrderDTO> items;
+    private String nextCursor;      // null, если страница последняя
+
+    public OrderPageDTO() {}
+
+    public OrderPageDTO(List<OrderDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<OrderDTO> getItems() { return items; }
+    public void setItems(List<OrderDTO> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,22 @@
+package com.books.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ReservationDeadlineDTO {
+    private UUID orderId;
+    private LocalDateTime reservationDeadline;
+
+    public ReservationDeadlineDTO() {}
+
+    public ReservationDeadlineDTO(UUID orderId, LocalDateTime reservationDeadline) {
+        this.orderId = orderId;
+        this.reservationDeadline = reservationDeadline;
+    }
+
+    public UUID getOrderId() { return orderId; }
+    public void setOrderId(UUID orderId) { this.orderId = orderId; }
+
+    public LocalDateTime getReservationDeadline() { return reservationDeadline; }
+    public void setReservationDeadline(LocalDateTime reservationDeadline) { this.reservationDeadline = reservationDeadline; }
+}
@@ -0,0 +1,21 @@
+package com.books.dto;
+
+import java.util.UUID;
+
+public class UserOrderCountDTO {
+    private UUID userId;
+    private long count;
+
+    public UserOrderCountDTO() {}
+
+    public UserOrderCountDTO(UUID userId, long count) {
+        this.userId = userId;
+        this.count = count;
+    }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
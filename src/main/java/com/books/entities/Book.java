@@ -1,11 +1,18 @@
 package com.books.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "books")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_title_id", columnList = "title, id"),
+        @Index(name = "idx_books_publication_year", columnList = "publication_year")
+})
 public class Book {
     @Id
     @GeneratedValue
@@ -20,20 +27,42 @@ public class Book {
     @Column(name = "publication_year")
     private Integer publicationYear; // год издания
 
+    // Слова названия и автора по правилам SearchWords, заполняются сеттерами; по ним фильтрует searchBooks
+    @Column(name = "title_words", length = 512)
+    private String titleWords;
+
+    @Column(name = "author_words", length = 512)
+    private String authorWords;
+
     public Book() {}
 
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
 
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleWords = SearchWords.join(title);
+    }
 
     public String getAuthor() { return author; }
-    public void setAuthor(String author) { this.author = author; }
+    public void setAuthor(String author) {
+        this.author = author;
+        this.authorWords = SearchWords.join(author);
+    }
 
     public Integer getPublicationYear() { return publicationYear; }
     public void setPublicationYear(Integer publicationYear) { this.publicationYear = publicationYear; }
 
+    public String getTitleWords() { return titleWords; }
+    public String getAuthorWords() { return authorWords; }
+
+    // Пересчитывает слова у книг, сохранённых до появления колонок title_words/author_words
+    public void refreshWords() {
+        this.titleWords = SearchWords.join(title);
+        this.authorWords = SearchWords.join(author);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -4,18 +4,25 @@ import jakarta.persistence.*;
 import java.util.Objects;
 import java.util.UUID;
 
+// Граф "BookInstance.detail" - книга и библиотека для BookInstanceDTO
 @Entity
-@Table(name = "book_instances")
+@NamedEntityGraph(name = "BookInstance.detail", attributeNodes = {
+        @NamedAttributeNode("book"),
+        @NamedAttributeNode("library")
+})
+@Table(name = "book_instances", indexes = {
+        @Index(name = "idx_book_instances_book_library_status", columnList = "book_id, library_id, status")
+})
 public class BookInstance {
     @Id
     @GeneratedValue
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "library_id", nullable = false)
     private Library library;        // ID_библиотеки
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book book;              // ID_книги
 
@@ -0,0 +1,67 @@
+package com.books.entities;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+// Позиция фоновой задачи в keyset-обходе: последний обработанный ключ (время, id)
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name")
+    private String jobName;             // имя задачи
+
+    @Column(name = "last_key_time")
+    private LocalDateTime lastKeyTime;  // время последнего обработанного ключа
+
+    @Column(name = "last_key_id")
+    private UUID lastKeyId;             // id последнего обработанного ключа
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;        // обработано строк в текущем проходе
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;    // время последнего сохранения
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public LocalDateTime getLastKeyTime() { return lastKeyTime; }
+    public void setLastKeyTime(LocalDateTime lastKeyTime) { this.lastKeyTime = lastKeyTime; }
+
+    public UUID getLastKeyId() { return lastKeyId; }
+    public void setLastKeyId(UUID lastKeyId) { this.lastKeyId = lastKeyId; }
+
+    public long getProcessedCount() { return processedCount; }
+    public void setProcessedCount(long processedCount) { this.processedCount = processedCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        JobCheckpoint that = (JobCheckpoint) o;
+        return Objects.equals(jobName, that.jobName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(jobName);
+    }
+}
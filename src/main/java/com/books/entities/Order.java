@@ -5,18 +5,32 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+// Граф "Order.detail" - всё, что нужно для OrderDTO и смены статуса заказа
 @Entity
-@Table(name = "orders")
+@NamedEntityGraph(name = "Order.detail",
+        attributeNodes = {
+                @NamedAttributeNode("user"),
+                @NamedAttributeNode(value = "bookInstance", subgraph = "bookInstance")
+        },
+        subgraphs = @NamedSubgraph(name = "bookInstance", attributeNodes = {
+                @NamedAttributeNode("book"),
+                @NamedAttributeNode("library")
+        }))
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_orders_user_status", columnList = "user_id, status"),
+        @Index(name = "idx_orders_status_expected_return_id", columnList = "status, expected_return_date, id")
+})
 public class Order {
     @Id
     @GeneratedValue
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;              // ID_пользователя
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_instance_id", nullable = false)
     private BookInstance bookInstance; // ID_экземпляра книги
 
@@ -5,8 +5,14 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+// Граф "OrderAudit.withUser" - для OrderAuditDTO нужен только пользователь, от заказа берётся лишь id
 @Entity
-@Table(name = "order_audit")
+@NamedEntityGraph(name = "OrderAudit.withUser", attributeNodes = @NamedAttributeNode("user"))
+@Table(name = "order_audit", indexes = {
+        @Index(name = "idx_order_audit_order_created_at", columnList = "order_id, created_at"),
+        @Index(name = "idx_order_audit_user_created_at", columnList = "user_id, created_at"),
+        @Index(name = "idx_order_audit_operation_created_at", columnList = "operation, created_at")
+})
 public class OrderAudit {
     @Id
     @GeneratedValue
@@ -18,7 +24,7 @@ public class OrderAudit {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -32,7 +38,7 @@ public class OrderAudit {
     @Column(name = "new_value")
     private String newValue;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 
@@ -0,0 +1,36 @@
+package com.books.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Правила разбиения текста на слова, общие для полнотекстового индекса в памяти
+// и колонок title_words/author_words, по которым фильтрует SQL
+public final class SearchWords {
+
+    private SearchWords() {}
+
+    // Слова в нижнем регистре, ё заменена на е; разделитель - любой символ, кроме буквы и цифры
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).replace('ё', 'е').split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Значение колонки: каждое слово с пробелом впереди, чтобы начало любого слова
+    // находилось одним условием LIKE '% слово%'
+    public static String join(String text) {
+        StringBuilder words = new StringBuilder();
+        for (String token : tokenize(text)) {
+            words.append(' ').append(token);
+        }
+        return words.toString();
+    }
+}
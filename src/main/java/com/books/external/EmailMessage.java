@@ -0,0 +1,17 @@
+package com.books.external;
+
+public class EmailMessage {
+    private final String to;
+    private final String title;
+    private final String body;
+
+    public EmailMessage(String to, String title, String body) {
+        this.to = to;
+        this.title = title;
+        this.body = body;
+    }
+
+    public String getTo() { return to; }
+    public String getTitle() { return title; }
+    public String getBody() { return body; }
+}
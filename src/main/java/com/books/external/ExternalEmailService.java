@@ -1,10 +1,30 @@
 package com.books.external;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Profile("!stub")
 public class ExternalEmailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalEmailService.class);
+
     public void sendEmail(String to, String title, String body) {
-        System.out.println("Реальная отправка email через внешний сервис:");
-        System.out.println("Кому: " + to);
-        System.out.println("Заголовок: " + title);
-        System.out.println("Текст: " + body);
+        log.info("Реальная отправка email через внешний сервис, кому: {}, заголовок: {}", to, title);
+        log.debug("Текст: {}", body);
+    }
+
+    // Один вызов провайдера на всю пачку писем
+    public void sendBatch(List<EmailMessage> messages) {
+        log.info("Реальная отправка пачки email через внешний сервис: {} шт.", messages.size());
+        if (log.isDebugEnabled()) {
+            for (EmailMessage message : messages) {
+                log.debug("Кому: {}, заголовок: {}", message.getTo(), message.getTitle());
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,30 @@
 package com.books.external;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Profile("!stub")
 public class ExternalSMSService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalSMSService.class);
+
     public void sendSMS(String phone, String text) {
-        System.out.println("Реальная отправка SMS через внешний сервис:");
-        System.out.println("Телефон: " + phone);
-        System.out.println("Текст: " + text);
+        log.info("Реальная отправка SMS через внешний сервис, телефон: {}", phone);
+        log.debug("Текст: {}", text);
+    }
+
+    // Один вызов провайдера на всю пачку SMS
+    public void sendBatch(List<SmsMessage> messages) {
+        log.info("Реальная отправка пачки SMS через внешний сервис: {} шт.", messages.size());
+        if (log.isDebugEnabled()) {
+            for (SmsMessage message : messages) {
+                log.debug("Телефон: {}", message.getPhone());
+            }
+        }
     }
-}
\ No newline at end of file
+}
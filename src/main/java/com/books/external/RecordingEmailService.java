@@ -0,0 +1,41 @@
+package com.books.external;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Локальная заглушка провайдера (профиль "stub"): ничего не отправляет,
+// только запоминает пачки, чтобы выигрыш от пакетной отправки можно было проверить офлайн
+@Component
+@Profile("stub")
+public class RecordingEmailService extends ExternalEmailService {
+    private final List<List<EmailMessage>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public void sendEmail(String to, String title, String body) {
+        sendBatch(List.of(new EmailMessage(to, title, body)));
+    }
+
+    @Override
+    public void sendBatch(List<EmailMessage> messages) {
+        calls.incrementAndGet();
+        batches.add(List.copyOf(messages));
+    }
+
+    public List<List<EmailMessage>> getBatches() {
+        return new ArrayList<>(batches);
+    }
+
+    public int getCallCount() {
+        return calls.get();
+    }
+
+    public int getSentCount() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.books.external;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Локальная заглушка SMS-провайдера (профиль "stub"), запоминает отправленные пачки
+@Component
+@Profile("stub")
+public class RecordingSMSService extends ExternalSMSService {
+    private final List<List<SmsMessage>> batches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    public void sendSMS(String phone, String text) {
+        sendBatch(List.of(new SmsMessage(phone, text)));
+    }
+
+    @Override
+    public void sendBatch(List<SmsMessage> messages) {
+        calls.incrementAndGet();
+        batches.add(List.copyOf(messages));
+    }
+
+    public List<List<SmsMessage>> getBatches() {
+        return new ArrayList<>(batches);
+    }
+
+    public int getCallCount() {
+        return calls.get();
+    }
+
+    public int getSentCount() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+}
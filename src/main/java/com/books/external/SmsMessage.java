@@ -0,0 +1,14 @@
+package com.books.external;
+
+public class SmsMessage {
+    private final String phone;
+    private final String text;
+
+    public SmsMessage(String phone, String text) {
+        this.phone = phone;
+        this.text = text;
+    }
+
+    public String getPhone() { return phone; }
+    public String getText() { return text; }
+}
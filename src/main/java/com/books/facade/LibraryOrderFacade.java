@@ -1,12 +1,12 @@
 package com.books.facade;
 
 import com.books.notifications.*;
-import com.books.external.ExternalEmailService;
-import com.books.external.ExternalSMSService;
 import com.books.services.OrderService;
 import com.books.dto.CreateOrderDTO;
 import com.books.dto.OrderDTO;
 import com.books.entities.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -14,23 +14,29 @@ import java.util.UUID;
 
 @Component
 public class LibraryOrderFacade {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryOrderFacade.class);
+
     private final OrderService orderService;
-    private final ExternalEmailService emailService;
-    private final ExternalSMSService smsService;
+    private final NotificationBatcher notificationBatcher;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationDedupCache notificationDedupCache;
 
     public LibraryOrderFacade(OrderService orderService,
-                              ExternalEmailService emailService,
-                              ExternalSMSService smsService) {
+                              NotificationBatcher notificationBatcher,
+                              NotificationDispatcher notificationDispatcher,
+                              NotificationDedupCache notificationDedupCache) {
         this.orderService = orderService;
-        this.emailService = emailService;
-        this.smsService = smsService;
+        this.notificationBatcher = notificationBatcher;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationDedupCache = notificationDedupCache;
     }
 
     public OrderDTO createOrderWithNotifications(CreateOrderDTO orderDTO,
                                                  String notificationType,
                                                  boolean enableLogging,
                                                  boolean enableCaching) {
-        System.out.println("Создание заказа с уведомлениями");
+        log.debug("Создание заказа с уведомлениями");
 
         OrderDTO order = orderService.createOrderWithBuilder(orderDTO);
 
@@ -46,18 +52,18 @@ public class LibraryOrderFacade {
         }
 
         if (enableCaching) {
-            notification = new CachingNotificationDecorator(notification);
+            notification = new CachingNotificationDecorator(notification, notificationDedupCache);
         }
 
-        notification = new RetryNotificationDecorator(notification, 3);
-        notification.send();
+        // Повторы и dead-letter выполняет диспетчер, запрос не ждёт отправки
+        notificationDispatcher.dispatch(notification);
 
         return order;
     }
 
     public OrderDTO updateOrderStatusWithNotification(UUID orderId, OrderStatus newStatus,
                                                       String notificationType) {
-        System.out.println("Обновление статуса заказа");
+        log.debug("Обновление статуса заказа");
 
         OrderDTO order = orderService.updateOrderStatus(orderId, newStatus);
 
@@ -68,13 +74,13 @@ public class LibraryOrderFacade {
 
         Notification notification = createNotification(notificationType, order.getUserId().toString(), message);
         notification = new LoggingNotificationDecorator(notification);
-        notification.send();
+        notificationDispatcher.dispatch(notification);
 
         return order;
     }
 
     public OrderSummary getOrderSummary(UUID orderId) {
-        System.out.println("Получение полной информации о заказе");
+        log.debug("Получение полной информации о заказе");
 
         OrderDTO order = orderService.findById(orderId);
 
@@ -94,9 +100,9 @@ public class LibraryOrderFacade {
     private Notification createNotification(String type, String recipient, String message) {
         switch (type.toUpperCase()) {
             case "EMAIL":
-                return new EmailServiceAdapter(emailService, recipient, "Уведомление библиотеки", message);
+                return new EmailServiceAdapter(notificationBatcher, recipient, "Уведомление библиотеки", message);
             case "SMS":
-                return new SMSServiceAdapter(smsService, recipient, message);
+                return new SMSServiceAdapter(notificationBatcher, recipient, message);
             case "INTERNAL_EMAIL":
                 return NotificationFactory.createEmailNotification(recipient, "Уведомление библиотеки", message);
             case "INTERNAL_SMS":
@@ -1,26 +1,50 @@
 package com.books.notifications;
 
-import java.util.HashMap;
-import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
 
 public class CachingNotificationDecorator extends NotificationDecorator {
-    private static final Map<String, String> cache = new HashMap<>();
 
-    public CachingNotificationDecorator(Notification notification) {
+    private static final Logger log = LoggerFactory.getLogger(CachingNotificationDecorator.class);
+
+    private final NotificationDedupCache cache;
+
+    public CachingNotificationDecorator(Notification notification, NotificationDedupCache cache) {
         super(notification);
+        this.cache = cache;
     }
 
     @Override
     public void send() {
-        String cacheKey = getType() + ":" + getMessage().hashCode();
-
-        if (cache.containsKey(cacheKey)) {
-            System.out.println("💾 Использовано кэшированное уведомление: " + cache.get(cacheKey));
+        if (!cache.tryAcquire(this)) {
+            log.debug("Повторное уведомление пропущено: {} для {}", getType(), getRecipient());
             return;
         }
 
-        super.send();
-        cache.put(cacheKey, getMessage());
-        System.out.println("💾 Уведомление сохранено в кэш");
+        try {
+            super.send();
+        } catch (RuntimeException e) {
+            // Неудачная отправка не должна блокировать повтор
+            cache.release(this);
+            throw e;
+        }
+        log.debug("Уведомление сохранено в кэш");
+    }
+
+    // Ключ освобождается после каждой неудачной попытки, в том числе окончательной,
+    // чтобы повтор диспетчера или новое уведомление могли его отправить
+    @Override
+    public CompletableFuture<Void> sendAsync() {
+        if (!cache.tryAcquire(this)) {
+            log.debug("Повторное уведомление пропущено: {} для {}", getType(), getRecipient());
+            return CompletableFuture.completedFuture(null);
+        }
+        return decoratedNotification.sendAsync().whenComplete((ignored, error) -> {
+            if (error != null) {
+                cache.release(this);
+            }
+        });
     }
-}
\ No newline at end of file
+}
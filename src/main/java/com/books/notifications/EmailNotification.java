@@ -1,6 +1,12 @@
 package com.books.notifications;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class EmailNotification implements Notification {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailNotification.class);
+
     private final String recipient;
     private final String subject;
     private final String message;
@@ -13,9 +19,8 @@ public class EmailNotification implements Notification {
 
     @Override
     public void send() {
-        System.out.println("Отправка email на: " + recipient);
-        System.out.println("Тема: " + subject);
-        System.out.println("Сообщение: " + message);
+        log.info("Отправка email на: {}, тема: {}", recipient, subject);
+        log.debug("Сообщение: {}", message);
     }
 
     @Override
@@ -27,4 +32,9 @@ public class EmailNotification implements Notification {
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public String getRecipient() {
+        return recipient;
+    }
 }
\ No newline at end of file
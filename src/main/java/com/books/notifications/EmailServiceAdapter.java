@@ -1,9 +1,13 @@
 package com.books.notifications;
 
+import com.books.external.EmailMessage;
 import com.books.external.ExternalEmailService;
 
+import java.util.concurrent.CompletableFuture;
+
 public class EmailServiceAdapter implements Notification {
     private final ExternalEmailService externalService;
+    private final NotificationBatcher batcher;
     private final String recipient;
     private final String subject;
     private final String message;
@@ -11,6 +15,18 @@ public class EmailServiceAdapter implements Notification {
     public EmailServiceAdapter(ExternalEmailService externalService,
                                String recipient, String subject, String message) {
         this.externalService = externalService;
+        this.batcher = null;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.message = message;
+    }
+
+    // Пакетный режим: сообщение уходит провайдеру в составе пачки канала,
+    // результат приходит, когда пачка отправлена или сообщение окончательно отклонено
+    public EmailServiceAdapter(NotificationBatcher batcher,
+                               String recipient, String subject, String message) {
+        this.externalService = null;
+        this.batcher = batcher;
         this.recipient = recipient;
         this.subject = subject;
         this.message = message;
@@ -18,9 +34,21 @@ public class EmailServiceAdapter implements Notification {
 
     @Override
     public void send() {
+        if (batcher != null) {
+            NotificationBatcher.await(sendAsync());
+            return;
+        }
         externalService.sendEmail(recipient, subject, message);
     }
 
+    @Override
+    public CompletableFuture<Void> sendAsync() {
+        if (batcher == null) {
+            return Notification.super.sendAsync();
+        }
+        return batcher.enqueue(new EmailMessage(recipient, subject, message));
+    }
+
     @Override
     public String getType() {
         return "EMAIL_ADAPTER";
@@ -30,4 +58,9 @@ public class EmailServiceAdapter implements Notification {
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public String getRecipient() {
+        return recipient;
+    }
 }
\ No newline at end of file
@@ -1,16 +1,32 @@
 package com.books.notifications;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
 public class LoggingNotificationDecorator extends NotificationDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationDecorator.class);
+
     public LoggingNotificationDecorator(Notification notification) {
         super(notification);
     }
 
     @Override
     public void send() {
-        System.out.println("Логирование: Отправка " + getType() + " уведомления");
-        System.out.println("Сообщение: " + getMessage());
-        System.out.println("Время: " + java.time.LocalDateTime.now());
+        log.info("Отправка {} уведомления: {}", getType(), getMessage());
         super.send();
-        System.out.println("Уведомление отправлено успешно");
+        log.info("Уведомление {} отправлено успешно", getType());
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync() {
+        log.info("Отправка {} уведомления: {}", getType(), getMessage());
+        return decoratedNotification.sendAsync().whenComplete((ignored, error) -> {
+            if (error == null) {
+                log.info("Уведомление {} отправлено успешно", getType());
+            }
+        });
     }
 }
\ No newline at end of file
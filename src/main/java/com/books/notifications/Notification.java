@@ -1,7 +1,21 @@
 package com.books.notifications;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface Notification {
     void send();
     String getType();
     String getMessage();
+    String getRecipient();
+
+    // Отправка, исход которой может стать известен позже: пакетные адаптеры завершают результат,
+    // когда пачка ушла провайдеру. По умолчанию - обычный send() с уже готовым результатом
+    default CompletableFuture<Void> sendAsync() {
+        try {
+            send();
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
\ No newline at end of file
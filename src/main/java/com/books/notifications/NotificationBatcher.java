@@ -0,0 +1,184 @@
+package com.books.notifications;
+
+import com.books.config.ApplicationConfig;
+import com.books.external.EmailMessage;
+import com.books.external.ExternalEmailService;
+import com.books.external.ExternalSMSService;
+import com.books.external.SmsMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Склеивает отправки по каналам: пачка уходит провайдеру, когда набралось
+// notificationBatchSize сообщений или истекло окно notificationBatchWindowMillis.
+// Каждое сообщение получает свой результат: он завершается после отправки пачки, а если пачка
+// отклонена и сообщение не прошло и по одному - с ошибкой, которую обрабатывает вызывающий (повторы диспетчера).
+// Пачки и сообщения по каналам считаются в books.notifications.batch{channel,outcome}
+@Component
+public class NotificationBatcher {
+
+    public static final String BATCH = "books.notifications.batch";
+
+    private final ChannelBuffer<EmailMessage> emails;
+    private final ChannelBuffer<SmsMessage> sms;
+    private final ScheduledExecutorService flusher;
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public NotificationBatcher(ExternalEmailService emailService,
+                               ExternalSMSService smsService,
+                               ApplicationConfig config,
+                               MeterRegistry meterRegistry) {
+        int batchSize = config.getNotificationBatchSize();
+        this.emails = new ChannelBuffer<>("email", batchSize, emailService::sendBatch,
+                m -> emailService.sendEmail(m.getTo(), m.getTitle(), m.getBody()), meterRegistry);
+        this.sms = new ChannelBuffer<>("sms", batchSize, smsService::sendBatch,
+                m -> smsService.sendSMS(m.getPhone(), m.getText()), meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long window = config.getNotificationBatchWindowMillis();
+        flusher.scheduleWithFixedDelay(this::flush, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Void> enqueue(EmailMessage message) {
+        return emails.add(message);
+    }
+
+    public CompletableFuture<Void> enqueue(SmsMessage message) {
+        return sms.add(message);
+    }
+
+    // Ожидание результата для синхронных вызывающих: ошибка отправки выбрасывается как есть
+    static void await(CompletableFuture<Void> result) {
+        try {
+            result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Немедленно отправляет всё накопленное по всем каналам
+    public void flush() {
+        emails.flush();
+        sms.flush();
+    }
+
+    public int getPendingCount() {
+        return emails.size() + sms.size();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    private class ChannelBuffer<T> {
+        private final int batchSize;
+        private final Consumer<List<T>> batchSender;
+        private final Consumer<T> singleSender;
+        private final Counter batchesSent;
+        private final Counter batchesRejected;
+        private final Counter messagesSent;
+        private final Counter messagesFailed;
+        private List<Pending<T>> pending = new ArrayList<>();
+
+        ChannelBuffer(String channel, int batchSize, Consumer<List<T>> batchSender, Consumer<T> singleSender,
+                      MeterRegistry meterRegistry) {
+            this.batchSize = batchSize;
+            this.batchSender = batchSender;
+            this.singleSender = singleSender;
+            this.batchesSent = counter(meterRegistry, channel, "batch_sent");
+            this.batchesRejected = counter(meterRegistry, channel, "batch_rejected");
+            this.messagesSent = counter(meterRegistry, channel, "sent");
+            this.messagesFailed = counter(meterRegistry, channel, "failed");
+        }
+
+        CompletableFuture<Void> add(T message) {
+            Pending<T> entry = new Pending<>(message, new CompletableFuture<>());
+            List<Pending<T>> full = null;
+            synchronized (this) {
+                pending.add(entry);
+                if (pending.size() >= batchSize) {
+                    full = pending;
+                    pending = new ArrayList<>();
+                }
+            }
+            if (full != null) {
+                send(full);
+            }
+            return entry.result();
+        }
+
+        void flush() {
+            List<Pending<T>> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            send(batch);
+        }
+
+        synchronized int size() {
+            return pending.size();
+        }
+
+        // Отправка идёт вне блокировки, чтобы медленный провайдер не держал производителей
+        private void send(List<Pending<T>> batch) {
+            try {
+                batchSender.accept(batch.stream().map(Pending::message).toList());
+            } catch (RuntimeException e) {
+                batchesRejected.increment();
+                // Пачка отклонена целиком — отправляем по одному, чтобы не терять остальные
+                for (Pending<T> entry : batch) {
+                    try {
+                        singleSender.accept(entry.message());
+                        messagesSent.increment();
+                        entry.result().complete(null);
+                    } catch (RuntimeException single) {
+                        failedCount.incrementAndGet();
+                        messagesFailed.increment();
+                        entry.result().completeExceptionally(single);
+                    }
+                }
+                return;
+            }
+            batchesSent.increment();
+            messagesSent.increment(batch.size());
+            batch.forEach(entry -> entry.result().complete(null));
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String channel, String outcome) {
+            return Counter.builder(BATCH)
+                    .tag("channel", channel)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    private record Pending<T>(T message, CompletableFuture<Void> result) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.books.notifications;
 
+import java.util.concurrent.CompletableFuture;
+
 public abstract class NotificationDecorator implements Notification {
     protected Notification decoratedNotification;
 
@@ -12,6 +14,12 @@ public abstract class NotificationDecorator implements Notification {
         decoratedNotification.send();
     }
 
+    // Пересылается явно: иначе декоратор без своей реализации откатился бы к блокирующему send()
+    @Override
+    public CompletableFuture<Void> sendAsync() {
+        return decoratedNotification.sendAsync();
+    }
+
     @Override
     public String getType() {
         return decoratedNotification.getType();
@@ -21,4 +29,9 @@ public abstract class NotificationDecorator implements Notification {
     public String getMessage() {
         return decoratedNotification.getMessage();
     }
+
+    @Override
+    public String getRecipient() {
+        return decoratedNotification.getRecipient();
+    }
 }
\ No newline at end of file
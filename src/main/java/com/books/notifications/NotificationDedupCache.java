@@ -0,0 +1,94 @@
+package com.books.notifications;
+
+import com.books.config.ApplicationConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+// Кэш дедупликации уведомлений: одно и то же сообщение одному получателю не отправляется повторно,
+// пока запись не истекла по TTL. Размер ограничен, при переполнении вытесняются редко используемые записи.
+// Попадания, промахи и вытеснения публикуются в Micrometer как cache.* с тегом cache=notificationDedup
+@Component
+public class NotificationDedupCache {
+
+    public static final String CACHE_NAME = "notificationDedup";
+
+    private final Cache<String, LocalDateTime> cache;
+
+    @Autowired
+    public NotificationDedupCache(ApplicationConfig config, MeterRegistry meterRegistry) {
+        this(config.getNotificationDedupMaxSize(),
+                Duration.ofMinutes(config.getNotificationDedupTtlMinutes()),
+                Ticker.systemTicker(),
+                meterRegistry);
+    }
+
+    NotificationDedupCache(long maxSize, Duration ttl, Ticker ticker, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // Атомарно занимает ключ уведомления.
+    // Возвращает true, если уведомление ещё не отправлялось и его нужно отправить
+    public boolean tryAcquire(Notification notification) {
+        boolean[] acquired = {false};
+        cache.get(keyOf(notification), key -> {
+            acquired[0] = true;
+            return LocalDateTime.now();
+        });
+        return acquired[0];
+    }
+
+    // Освобождает ключ, если отправка не удалась, чтобы повтор мог её выполнить
+    public void release(Notification notification) {
+        cache.invalidate(keyOf(notification));
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    static String keyOf(Notification notification) {
+        return notification.getType() + ":" + notification.getRecipient() + ":" + digest(notification.getMessage());
+    }
+
+    private static String digest(String message) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(String.valueOf(message).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 недоступен", e);
+        }
+    }
+}
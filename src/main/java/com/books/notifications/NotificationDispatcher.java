@@ -0,0 +1,186 @@
+package com.books.notifications;
+
+import com.books.config.ApplicationConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Асинхронная отправка уведомлений: ограниченная очередь + пул воркеров,
+// повторы по расписанию с экспоненциальной задержкой и джиттером,
+// неотправленные уведомления попадают в dead-letter.
+// Исходы по каналам считаются в books.notifications.dispatch{channel,outcome}.
+// При spring.threads.virtual.enabled=true на JDK 21+ воркеры - виртуальные потоки;
+// размер пула по-прежнему ограничивает число одновременных отправок провайдеру
+@Component
+public class NotificationDispatcher {
+
+    public static final String DISPATCH = "books.notifications.dispatch";
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+    private final int maxAttempts;
+    private final long retryBaseDelayMillis;
+    private final int deadLetterCapacity;
+    private final Deque<FailedNotification> deadLetters = new ConcurrentLinkedDeque<>();
+    private final MeterRegistry meterRegistry;
+
+    public NotificationDispatcher(ApplicationConfig config, MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = config.getNotificationMaxAttempts();
+        this.retryBaseDelayMillis = config.getNotificationRetryBaseDelayMillis();
+        this.deadLetterCapacity = config.getNotificationDeadLetterCapacity();
+        this.workers = new ThreadPoolExecutor(
+                config.getNotificationWorkers(), config.getNotificationWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getNotificationQueueCapacity()),
+                Threading.VIRTUAL.isActive(environment)
+                        ? new VirtualThreadTaskExecutor("notification-worker-").getVirtualThreadFactory()
+                        : namedThreadFactory("notification-worker"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreadFactory("notification-retry"));
+        Gauge.builder("books.notifications.queued", workers, pool -> pool.getQueue().size())
+                .description("Уведомления в очереди на отправку")
+                .register(meterRegistry);
+        Gauge.builder("books.notifications.dead.letters", deadLetters, Deque::size)
+                .description("Уведомления в dead-letter")
+                .register(meterRegistry);
+    }
+
+    // Ставит уведомление в очередь и сразу возвращает управление вызывающему потоку
+    public void dispatch(Notification notification) {
+        submit(notification, 1);
+    }
+
+    public List<FailedNotification> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    public int getQueuedCount() {
+        return workers.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Notification notification, int attempt) {
+        try {
+            workers.execute(() -> deliver(notification, attempt));
+        } catch (RejectedExecutionException e) {
+            deadLetter(notification, attempt, "Очередь уведомлений переполнена");
+        }
+    }
+
+    // Пакетные адаптеры завершают результат позже, когда пачка ушла провайдеру; воркер при этом уже свободен,
+    // а повтор и dead-letter срабатывают по фактическому исходу каждого сообщения
+    private void deliver(Notification notification, int attempt) {
+        CompletableFuture<Void> result;
+        try {
+            result = notification.sendAsync();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((ignored, error) -> {
+            if (error == null) {
+                count(notification, "sent");
+            } else {
+                failed(notification, attempt, error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+    }
+
+    private void failed(Notification notification, int attempt, Throwable error) {
+        if (attempt >= maxAttempts) {
+            deadLetter(notification, attempt, error.getMessage());
+            return;
+        }
+        try {
+            retryScheduler.schedule(() -> submit(notification, attempt + 1), retryDelayMillis(attempt), TimeUnit.MILLISECONDS);
+            count(notification, "retried");
+        } catch (RejectedExecutionException rejected) {
+            deadLetter(notification, attempt, error.getMessage());
+        }
+    }
+
+    // base * 2^(attempt-1) плюс случайный джиттер до половины задержки
+    private long retryDelayMillis(int attempt) {
+        long delay = retryBaseDelayMillis << Math.min(attempt - 1, 16);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private void count(Notification notification, String outcome) {
+        Counter.builder(DISPATCH)
+                .tag("channel", notification.getType())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void deadLetter(Notification notification, int attempts, String error) {
+        count(notification, "dead_letter");
+        deadLetters.addLast(new FailedNotification(notification.getType(), notification.getMessage(), error, attempts));
+        while (deadLetters.size() > deadLetterCapacity) {
+            deadLetters.pollFirst();
+        }
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static class FailedNotification {
+        private final String type;
+        private final String message;
+        private final String error;
+        private final int attempts;
+        private final LocalDateTime failedAt = LocalDateTime.now();
+
+        public FailedNotification(String type, String message, String error, int attempts) {
+            this.type = type;
+            this.message = message;
+            this.error = error;
+            this.attempts = attempts;
+        }
+
+        public String getType() { return type; }
+        public String getMessage() { return message; }
+        public String getError() { return error; }
+        public int getAttempts() { return attempts; }
+        public LocalDateTime getFailedAt() { return failedAt; }
+    }
+}
@@ -1,6 +1,12 @@
 package com.books.notifications;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class SMSNotification implements Notification {
+
+    private static final Logger log = LoggerFactory.getLogger(SMSNotification.class);
+
     private final String phoneNumber;
     private final String message;
 
@@ -12,8 +18,8 @@ public class SMSNotification implements Notification {
     @Override
     public void send() {
         // Здесь была бы реальная логика отправки SMS
-        System.out.println("Отправка SMS на: " + phoneNumber);
-        System.out.println("Сообщение: " + message);
+        log.info("Отправка SMS на: {}", phoneNumber);
+        log.debug("Сообщение: {}", message);
     }
 
     @Override
@@ -25,4 +31,9 @@ public class SMSNotification implements Notification {
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public String getRecipient() {
+        return phoneNumber;
+    }
 }
\ No newline at end of file
@@ -1,24 +1,51 @@
 package com.books.notifications;
 
+import com.books.external.SmsMessage;
 import com.books.external.ExternalSMSService;
 
+import java.util.concurrent.CompletableFuture;
+
 public class SMSServiceAdapter implements Notification {
     private final ExternalSMSService externalService;
+    private final NotificationBatcher batcher;
     private final String phoneNumber;
     private final String message;
 
     public SMSServiceAdapter(ExternalSMSService externalService,
                              String phoneNumber, String message) {
         this.externalService = externalService;
+        this.batcher = null;
+        this.phoneNumber = phoneNumber;
+        this.message = message;
+    }
+
+    // Пакетный режим: сообщение уходит провайдеру в составе пачки канала,
+    // результат приходит, когда пачка отправлена или сообщение окончательно отклонено
+    public SMSServiceAdapter(NotificationBatcher batcher,
+                             String phoneNumber, String message) {
+        this.externalService = null;
+        this.batcher = batcher;
         this.phoneNumber = phoneNumber;
         this.message = message;
     }
 
     @Override
     public void send() {
+        if (batcher != null) {
+            NotificationBatcher.await(sendAsync());
+            return;
+        }
         externalService.sendSMS(phoneNumber, message);
     }
 
+    @Override
+    public CompletableFuture<Void> sendAsync() {
+        if (batcher == null) {
+            return Notification.super.sendAsync();
+        }
+        return batcher.enqueue(new SmsMessage(phoneNumber, message));
+    }
+
     @Override
     public String getType() {
         return "SMS_ADAPTER";
@@ -28,4 +55,9 @@ public class SMSServiceAdapter implements Notification {
     public String getMessage() {
         return message;
     }
+
+    @Override
+    public String getRecipient() {
+        return phoneNumber;
+    }
 }
\ No newline at end of file
@@ -2,12 +2,18 @@ package com.books.observer;
 
 import com.books.entities.Order;
 import com.books.entities.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class AuditLogObserver implements OrderStatusObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogObserver.class);
+
     @Override
     public void update(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
-        System.out.println("Аудит: Заказ #" + order.getId() +
-                " | Пользователь: " + order.getUser().getFullName() +
-                " | Изменение статуса: " + oldStatus + " -> " + newStatus);
+        if (log.isInfoEnabled()) {
+            log.info("Аудит: Заказ #{} | Пользователь: {} | Изменение статуса: {} -> {}",
+                    order.getId(), order.getUser().getFullName(), oldStatus, newStatus);
+        }
     }
 }
\ No newline at end of file
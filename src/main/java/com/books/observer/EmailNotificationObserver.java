@@ -2,16 +2,23 @@ package com.books.observer;
 
 import com.books.entities.Order;
 import com.books.entities.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class EmailNotificationObserver implements OrderStatusObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailNotificationObserver.class);
+
     @Override
     public void update(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
         String message = String.format(
                 "Статус вашего заказа #%s изменен: %s -> %s",
                 order.getId(), oldStatus, newStatus
         );
 
-        System.out.println("Отправка email пользователю: " + order.getUser().getEmail());
-        System.out.println("Сообщение: " + message);
+        log.debug("Отправка email пользователю: {}, сообщение: {}", order.getUser().getEmail(), message);
     }
 }
\ No newline at end of file
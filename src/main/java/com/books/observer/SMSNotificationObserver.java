@@ -2,16 +2,23 @@ package com.books.observer;
 
 import com.books.entities.Order;
 import com.books.entities.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class SMSNotificationObserver implements OrderStatusObserver {
+
+    private static final Logger log = LoggerFactory.getLogger(SMSNotificationObserver.class);
+
     @Override
     public void update(Order order, OrderStatus oldStatus, OrderStatus newStatus) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
         String message = String.format(
                 "Статус заказа #%s: %s",
                 order.getId(), newStatus
         );
 
-        System.out.println("Отправка SMS пользователю: " + order.getUser().getPhone());
-        System.out.println("Сообщение: " + message);
+        log.debug("Отправка SMS пользователю: {}, сообщение: {}", order.getUser().getPhone(), message);
     }
 }
\ No newline at end of file
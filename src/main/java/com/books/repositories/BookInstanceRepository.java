@@ -1,30 +1,91 @@
 package com.books.repositories;
 
+import com.books.dto.AvailabilityCountDTO;
 import com.books.entities.BookInstance;
 import com.books.entities.BookInstanceStatus;
 import com.books.entities.Book;
 import com.books.entities.Library;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BookInstanceRepository extends JpaRepository<BookInstance, UUID> {
 
+    // Выборки для BookInstanceDTO подгружают книгу и библиотеку тем же запросом
+    @Override
+    @EntityGraph("BookInstance.detail")
+    List<BookInstance> findAll();
+
+    @Override
+    @EntityGraph("BookInstance.detail")
+    Optional<BookInstance> findById(UUID id);
+
+    // Набор экземпляров вместе с книгой и библиотекой одним запросом
+    @EntityGraph("BookInstance.detail")
+    List<BookInstance> findByIdIn(Collection<UUID> ids);
+
     // Поиск экземпляров по книге
+    @EntityGraph("BookInstance.detail")
     List<BookInstance> findByBook(Book book);
 
     // Поиск экземпляров по библиотеке
+    @EntityGraph("BookInstance.detail")
     List<BookInstance> findByLibrary(Library library);
 
     // Поиск экземпляров по статусу
+    @EntityGraph("BookInstance.detail")
     List<BookInstance> findByStatus(BookInstanceStatus status);
 
     // Поиск доступных экземпляров в библиотеке
+    @EntityGraph("BookInstance.detail")
     List<BookInstance> findByLibraryAndStatus(Library library, BookInstanceStatus status);
 
     // Поиск экземпляров конкретной книги в библиотеке
+    @EntityGraph("BookInstance.detail")
     List<BookInstance> findByBookAndLibrary(Book book, Library library);
-}
\ No newline at end of file
+
+    // Блокирует первый свободный экземпляр книги в библиотеке, пропуская строки,
+    // уже заблокированные параллельными транзакциями (FOR UPDATE SKIP LOCKED)
+    @Query(value = "SELECT * FROM book_instances " +
+            "WHERE book_id = :bookId AND library_id = :libraryId AND status = 'AVAILABLE' " +
+            "LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<BookInstance> lockFirstAvailable(@Param("bookId") UUID bookId, @Param("libraryId") UUID libraryId);
+
+    // Блокирует набор экземпляров до конца транзакции (SELECT ... FOR UPDATE). Строки берутся
+    // в порядке id, поэтому пересекающиеся пакетные заказы не блокируют друг друга взаимно
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bi FROM BookInstance bi WHERE bi.id IN :ids ORDER BY bi.id")
+    List<BookInstance> lockAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Атомарная смена статуса: обновляет строку, только если текущий статус совпадает с ожидаемым.
+    // Возвращает число изменённых строк (0 - экземпляр уже занят другим запросом или не существует)
+    @Modifying
+    @Query("UPDATE BookInstance bi SET bi.status = :newStatus WHERE bi.id = :id AND bi.status = :expectedStatus")
+    int compareAndSetStatus(@Param("id") UUID id,
+                            @Param("expectedStatus") BookInstanceStatus expectedStatus,
+                            @Param("newStatus") BookInstanceStatus newStatus);
+
+    // Массовая смена статуса экземпляров с той же проверкой ожидаемого статуса
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BookInstance bi SET bi.status = :newStatus WHERE bi.id IN :ids AND bi.status = :expectedStatus")
+    int updateStatusIn(@Param("ids") List<UUID> ids,
+                       @Param("expectedStatus") BookInstanceStatus expectedStatus,
+                       @Param("newStatus") BookInstanceStatus newStatus);
+
+    // Число экземпляров и свободных экземпляров для каждой пары (книга, библиотека)
+    @Query("SELECT new com.books.dto.AvailabilityCountDTO(bi.book.id, bi.library.id, COUNT(bi), " +
+            "SUM(CASE WHEN bi.status = com.books.entities.BookInstanceStatus.AVAILABLE THEN 1L ELSE 0L END)) " +
+            "FROM BookInstance bi GROUP BY bi.book.id, bi.library.id")
+    List<AvailabilityCountDTO> countAvailability();
+}
@@ -2,13 +2,14 @@ package com.books.repositories;
 
 import com.books.entities.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, UUID> {
+public interface BookRepository extends JpaRepository<Book, UUID>, JpaSpecificationExecutor<Book> {
 
     // Поиск книг по автору (игнорируя регистр)
     List<Book> findByAuthorContainingIgnoreCase(String author);
@@ -21,4 +22,7 @@ public interface BookRepository extends JpaRepository<Book, UUID> {
 
     // Поиск книг по автору и году
     List<Book> findByAuthorAndPublicationYear(String author, Integer publicationYear);
+
+    // Очередная пачка книг без заполненных слов поиска (сохранены до появления колонок)
+    List<Book> findTop500ByTitleWordsIsNullOrAuthorWordsIsNull();
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.books.repositories;
+
+import com.books.entities.Book;
+import com.books.entities.BookInstance;
+import com.books.entities.BookInstanceStatus;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Условия поиска книг для JpaSpecificationExecutor; null-аргумент означает отсутствие условия
+public final class BookSpecifications {
+
+    private BookSpecifications() {}
+
+    // Каждое слово запроса - начало какого-либо слова названия (как в полнотекстовом индексе).
+    // Колонки title_words/author_words хранят слова по правилам SearchWords, каждое после пробела,
+    // поэтому одно условие LIKE '% слово%' на слово; на PostgreSQL его обслуживает
+    // триграммный индекс из BookWordsInitializer
+    public static Specification<Book> titleHasWords(List<String> words) {
+        return hasWords("titleWords", words);
+    }
+
+    public static Specification<Book> authorHasWords(List<String> words) {
+        return hasWords("authorWords", words);
+    }
+
+    // Слова состоят только из букв и цифр (SearchWords.tokenize), поэтому экранировать % и _ не нужно
+    private static Specification<Book> hasWords(String attribute, List<String> words) {
+        return (root, query, cb) -> {
+            if (words == null || words.isEmpty()) {
+                return null;
+            }
+            List<Predicate> conditions = new ArrayList<>();
+            for (String word : words) {
+                conditions.add(cb.like(root.get(attribute), "% " + word + "%"));
+            }
+            return cb.and(conditions.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Book> yearFrom(Integer year) {
+        return (root, query, cb) -> year == null ? null : cb.greaterThanOrEqualTo(root.get("publicationYear"), year);
+    }
+
+    public static Specification<Book> yearTo(Integer year) {
+        return (root, query, cb) -> year == null ? null : cb.lessThanOrEqualTo(root.get("publicationYear"), year);
+    }
+
+    // Наличие экземпляров проверяется через EXISTS: использует индекс (book_id, library_id, status)
+    // и не размножает строки книг. available=false - экземпляры есть, но свободных нет
+    public static Specification<Book> hasInstance(UUID libraryId, Boolean available) {
+        return (root, query, cb) -> {
+            if (libraryId == null && available == null) {
+                return null;
+            }
+            if (Boolean.TRUE.equals(available)) {
+                return cb.exists(instances(root, query, cb, libraryId, BookInstanceStatus.AVAILABLE));
+            }
+            Predicate held = cb.exists(instances(root, query, cb, libraryId, null));
+            if (available == null) {
+                return held;
+            }
+            return cb.and(held, cb.not(cb.exists(instances(root, query, cb, libraryId, BookInstanceStatus.AVAILABLE))));
+        };
+    }
+
+    private static Subquery<Integer> instances(Root<Book> book, CriteriaQuery<?> query, CriteriaBuilder cb,
+                                               UUID libraryId, BookInstanceStatus status) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<BookInstance> instance = subquery.from(BookInstance.class);
+        List<Predicate> conditions = new ArrayList<>();
+        conditions.add(cb.equal(instance.get("book"), book));
+        if (libraryId != null) {
+            conditions.add(cb.equal(instance.get("library").get("id"), libraryId));
+        }
+        if (status != null) {
+            conditions.add(cb.equal(instance.get("status"), status));
+        }
+        return subquery.select(cb.literal(1)).where(conditions.toArray(new Predicate[0]));
+    }
+}
@@ -1,27 +1,87 @@
 package com.books.repositories;
 
+import com.books.dto.OrderAuditDTO;
 import com.books.entities.OrderAudit;
 import com.books.entities.AuditOperation;
 import com.books.entities.Order;
 import com.books.entities.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderAuditRepository extends JpaRepository<OrderAudit, UUID> {
 
+    // Проекция в OrderAuditDTO одним запросом
+    String AUDIT_DTO_SELECT = "SELECT new com.books.dto.OrderAuditDTO(" +
+            "a.id, a.createdAt, a.updatedAt, u.id, u.fullName, a.operation, a.oldValue, a.newValue, a.order.id) " +
+            "FROM OrderAudit a JOIN a.user u ";
+
+    // Keyset-условие: записи строго после позиции (afterCreatedAt, afterId) и раньше границы to, по возрастанию
+    String AUDIT_KEYSET_PAGE = "(a.createdAt > :afterCreatedAt OR (a.createdAt = :afterCreatedAt AND a.id > :afterId)) " +
+            "AND a.createdAt < :to ORDER BY a.createdAt, a.id";
+
+    // Выборки для OrderAuditDTO подгружают только пользователя; заказ остаётся ленивым
+    @Override
+    @EntityGraph("OrderAudit.withUser")
+    List<OrderAudit> findAll();
+
+    @Override
+    @EntityGraph("OrderAudit.withUser")
+    Optional<OrderAudit> findById(UUID id);
+
     // Поиск записей аудита по заказу
+    @EntityGraph("OrderAudit.withUser")
     List<OrderAudit> findByOrder(Order order);
 
     // Поиск записей аудита по пользователю
+    @EntityGraph("OrderAudit.withUser")
     List<OrderAudit> findByUser(User user);
 
     // Поиск записей аудита по операции
+    @EntityGraph("OrderAudit.withUser")
     List<OrderAudit> findByOperation(AuditOperation operation);
 
     // Поиск записей аудита по заказу и операции
+    @EntityGraph("OrderAudit.withUser")
     List<OrderAudit> findByOrderAndOperation(Order order, AuditOperation operation);
+
+    // Страница записей аудита за период
+    @Query(AUDIT_DTO_SELECT + "WHERE " + AUDIT_KEYSET_PAGE)
+    List<OrderAuditDTO> findPage(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                 @Param("afterId") UUID afterId,
+                                 @Param("to") LocalDateTime to,
+                                 Pageable pageable);
+
+    // Страница записей аудита заказа за период (индекс order_id, created_at)
+    @Query(AUDIT_DTO_SELECT + "WHERE a.order.id = :orderId AND " + AUDIT_KEYSET_PAGE)
+    List<OrderAuditDTO> findPageByOrderId(@Param("orderId") UUID orderId,
+                                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                          @Param("afterId") UUID afterId,
+                                          @Param("to") LocalDateTime to,
+                                          Pageable pageable);
+
+    // Страница записей аудита пользователя за период (индекс user_id, created_at)
+    @Query(AUDIT_DTO_SELECT + "WHERE u.id = :userId AND " + AUDIT_KEYSET_PAGE)
+    List<OrderAuditDTO> findPageByUserId(@Param("userId") UUID userId,
+                                         @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                         @Param("afterId") UUID afterId,
+                                         @Param("to") LocalDateTime to,
+                                         Pageable pageable);
+
+    // Страница записей аудита по операции за период (индекс operation, created_at)
+    @Query(AUDIT_DTO_SELECT + "WHERE a.operation = :operation AND " + AUDIT_KEYSET_PAGE)
+    List<OrderAuditDTO> findPageByOperation(@Param("operation") AuditOperation operation,
+                                            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                            @Param("afterId") UUID afterId,
+                                            @Param("to") LocalDateTime to,
+                                            Pageable pageable);
 }
\ No newline at end of file
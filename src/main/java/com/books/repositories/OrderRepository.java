@@ -1,18 +1,40 @@
 package com.books.repositories;
 
+import com.books.dto.OrderDTO;
+import com.books.dto.ReservationDeadlineDTO;
+import com.books.dto.UserOrderCountDTO;
 import com.books.entities.Order;
 import com.books.entities.OrderStatus;
 import com.books.entities.User;
 import com.books.entities.BookInstance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
+    // Проекция в OrderDTO одним запросом: заказ + пользователь + экземпляр + книга + библиотека
+    String ORDER_DTO_SELECT = "SELECT new com.books.dto.OrderDTO(" +
+            "o.id, u.id, u.fullName, bi.id, b.title, b.author, l.id, l.name, " +
+            "o.createdAt, o.reservationDeadline, o.actualIssueDate, o.expectedReturnDate, " +
+            "o.actualReturnDate, o.status) " +
+            "FROM Order o JOIN o.user u JOIN o.bookInstance bi JOIN bi.book b JOIN bi.library l ";
+
+    // Заказ со всем, что нужно для OrderDTO, одним запросом
+    @EntityGraph("Order.detail")
+    Optional<Order> findDetailedById(UUID id);
+
     // Поиск заказов пользователя
     List<Order> findByUser(User user);
 
@@ -24,4 +46,85 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     // Поиск активных заказов пользователя
     List<Order> findByUserAndStatusIn(User user, List<OrderStatus> statuses);
-}
\ No newline at end of file
+
+    // Количество заказов пользователя с указанными статусами (без загрузки сущностей)
+    long countByUserAndStatusIn(User user, List<OrderStatus> statuses);
+
+    // То же для набора пользователей одним GROUP BY; пользователи без таких заказов в ответ не попадают
+    @Query("SELECT new com.books.dto.UserOrderCountDTO(o.user.id, COUNT(o)) FROM Order o " +
+            "WHERE o.user.id IN :userIds AND o.status IN :statuses GROUP BY o.user.id")
+    List<UserOrderCountDTO> countByUserIdInAndStatusIn(@Param("userIds") Collection<UUID> userIds,
+                                                       @Param("statuses") List<OrderStatus> statuses);
+
+    // Все заказы в виде DTO
+    @Query(ORDER_DTO_SELECT)
+    List<OrderDTO> findAllDTOs();
+
+    // Заказы пользователя в виде DTO
+    @Query(ORDER_DTO_SELECT + "WHERE u.id = :userId")
+    List<OrderDTO> findDTOsByUserId(@Param("userId") UUID userId);
+
+    // Заказы по статусу в виде DTO
+    @Query(ORDER_DTO_SELECT + "WHERE o.status = :status")
+    List<OrderDTO> findDTOsByStatus(@Param("status") OrderStatus status);
+
+    // Заказы пользователя с указанными статусами в виде DTO
+    @Query(ORDER_DTO_SELECT + "WHERE u.id = :userId AND o.status IN :statuses")
+    List<OrderDTO> findDTOsByUserIdAndStatusIn(@Param("userId") UUID userId,
+                                               @Param("statuses") List<OrderStatus> statuses);
+
+    // Первая страница заказов (keyset по createdAt, id)
+    @Query(ORDER_DTO_SELECT + "ORDER BY o.createdAt, o.id")
+    List<OrderDTO> findFirstPage(Pageable pageable);
+
+    // Следующая страница заказов после курсора (createdAt, id)
+    @Query(ORDER_DTO_SELECT +
+            "WHERE o.createdAt > :createdAt OR (o.createdAt = :createdAt AND o.id > :id) " +
+            "ORDER BY o.createdAt, o.id")
+    List<OrderDTO> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") UUID id,
+                                 Pageable pageable);
+
+    // Очередной блок выданных заказов с истёкшим сроком возврата после ключа (expectedReturnDate, id)
+    @Query("SELECT o FROM Order o JOIN FETCH o.user JOIN FETCH o.bookInstance bi JOIN FETCH bi.book " +
+            "WHERE o.status = :status AND o.expectedReturnDate < :now " +
+            "AND (o.expectedReturnDate > :afterDate OR (o.expectedReturnDate = :afterDate AND o.id > :afterId)) " +
+            "ORDER BY o.expectedReturnDate, o.id")
+    List<Order> findExpiredReturnChunk(@Param("status") OrderStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("afterDate") LocalDateTime afterDate,
+                                       @Param("afterId") UUID afterId,
+                                       Pageable pageable);
+
+    // Массовая смена статуса: меняются только заказы, статус которых всё ещё равен ожидаемому
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus WHERE o.id IN :ids AND o.status = :expectedStatus")
+    int updateStatusIn(@Param("ids") List<UUID> ids,
+                       @Param("expectedStatus") OrderStatus expectedStatus,
+                       @Param("newStatus") OrderStatus newStatus);
+
+    // Идентификаторы заказов из списка, находящиеся в указанном статусе
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = :status")
+    List<UUID> findIdsByIdInAndStatus(@Param("ids") List<UUID> ids, @Param("status") OrderStatus status);
+
+    // Сроки бронирования активных заказов (для загрузки очереди истечения при старте)
+    @Query("SELECT new com.books.dto.ReservationDeadlineDTO(o.id, o.reservationDeadline) FROM Order o " +
+            "WHERE o.status IN :statuses AND o.reservationDeadline IS NOT NULL")
+    List<ReservationDeadlineDTO> findReservationDeadlines(@Param("statuses") List<OrderStatus> statuses);
+
+    // Заказы из списка, бронь которых истекла к моменту now
+    @Query("SELECT o FROM Order o JOIN FETCH o.user JOIN FETCH o.bookInstance " +
+            "WHERE o.id IN :ids AND o.status IN :statuses AND o.reservationDeadline <= :now")
+    List<Order> findExpiredReservations(@Param("ids") List<UUID> ids,
+                                        @Param("statuses") List<OrderStatus> statuses,
+                                        @Param("now") LocalDateTime now);
+
+    // Массовая отмена истёкших броней; повторная проверка условий защищает от продления срока
+    // или смены статуса между выборкой и обновлением
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.books.entities.OrderStatus.CANCELLED " +
+            "WHERE o.id IN :ids AND o.status IN :statuses AND o.reservationDeadline <= :now")
+    int cancelExpiredReservations(@Param("ids") List<UUID> ids,
+                                  @Param("statuses") List<OrderStatus> statuses,
+                                  @Param("now") LocalDateTime now);
+}
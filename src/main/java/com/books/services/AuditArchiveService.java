@@ -0,0 +1,319 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.dto.OrderAuditDTO;
+import com.books.entities.AuditOperation;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Хранение аудита по месяцам: месяцы старше горизонта хранения выгружаются
+// в архив order_audit_YYYY-MM.csv.gz и удаляются из горячей таблицы
+@Service
+public class AuditArchiveService {
+
+    private static final String SELECT_MONTH_SQL = "SELECT a.id, a.created_at, a.updated_at, a.user_id, u.full_name, " +
+            "a.operation, a.old_value, a.new_value, a.order_id " +
+            "FROM order_audit a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.created_at >= ? AND a.created_at < ? ORDER BY a.created_at, a.id";
+    // Удаляются только выгруженные строки: от начала месяца до последней записанной позиции (created_at, id)
+    private static final String DELETE_EXPORTED_SQL = "DELETE FROM order_audit WHERE created_at >= ? " +
+            "AND (created_at < ? OR (created_at = ? AND id <= ?))";
+    private static final String MIN_CREATED_AT_SQL = "SELECT MIN(created_at) FROM order_audit";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate archiveTransaction;
+    private final ApplicationConfig config;
+
+    public AuditArchiveService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ApplicationConfig config) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveTransaction = new TransactionTemplate(transactionManager);
+        this.archiveTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.config = config;
+    }
+
+    // Ежемесячная архивация: 1-го числа в 03:00
+    @Scheduled(cron = "0 0 3 1 * *")
+    public void archiveExpiredMonths() {
+        YearMonth horizon = horizon();
+        Timestamp oldest = jdbcTemplate.queryForObject(MIN_CREATED_AT_SQL, Timestamp.class);
+        if (oldest == null) {
+            return;
+        }
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime()); month.isBefore(horizon); month = month.plusMonths(1)) {
+            archiveMonth(month);
+        }
+    }
+
+    // Выгружает месяц в архив и удаляет его строки из order_audit.
+    // Выгрузка и удаление идут в одной транзакции REPEATABLE READ: DELETE видит тот же снимок, что и SELECT,
+    // и строки, вставленные во время выгрузки, остаются до следующего запуска. Вне автокоммита
+    // драйвер PostgreSQL учитывает fetchSize и читает месяц порциями, а не целиком в память
+    public int archiveMonth(YearMonth month) {
+        Integer exported = archiveTransaction.execute(status -> exportAndDelete(month));
+        return exported != null ? exported : 0;
+    }
+
+    // Уже записанный архив месяца никогда не перезаписывается: новые строки сливаются с ним
+    // в порядке (created_at, id) во временный файл, который затем заменяет архив. Строка, уже
+    // попавшая в архив (сбой между переименованием и коммитом DELETE), не дублируется.
+    // Если выгружать нечего, архив не трогается
+    private int exportAndDelete(YearMonth month) {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        Path target = archivePath(month);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        int[] exported = {0};
+        KeysetCursor[] last = {null};
+
+        try {
+            Files.createDirectories(target.getParent());
+            try (ArchivedRecords archived = ArchivedRecords.open(target);
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(
+                         new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement ps = connection.prepareStatement(SELECT_MONTH_SQL);
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setTimestamp(1, start);
+                    ps.setTimestamp(2, end);
+                    return ps;
+                }, (ResultSet rs) -> {
+                    List<String> row = readRow(rs);
+                    KeysetCursor position = positionOf(row);
+                    try {
+                        archived.copyBefore(position, writer);
+                        writeRecord(writer, row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    last[0] = position;
+                    exported[0]++;
+                });
+                archived.copyBefore(null, writer);
+            }
+            if (exported[0] == 0) {
+                Files.delete(temp);
+                return 0;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать архив аудита за " + month, e);
+        }
+
+        Timestamp lastCreatedAt = Timestamp.valueOf(last[0].getCreatedAt());
+        jdbcTemplate.update(DELETE_EXPORTED_SQL, start, lastCreatedAt, lastCreatedAt, last[0].getId());
+        return exported[0];
+    }
+
+    // Начало горячего периода: всё, что раньше, уже выгружено в архив или будет выгружено ближайшим запуском
+    public LocalDateTime getArchiveBoundary() {
+        return horizon().atDay(1).atStartOfDay();
+    }
+
+    // Страница архивных записей строго после позиции after и раньше to, не больше limit.
+    // Месячные файлы отсортированы так же, как keyset-выборка из БД, поэтому чтение идёт потоком
+    // и останавливается, как только страница заполнена; в памяти только сама страница
+    public List<OrderAuditDTO> findArchived(KeysetCursor after, LocalDateTime to,
+                                            Predicate<OrderAuditDTO> filter, int limit) {
+        List<OrderAuditDTO> result = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(after.getCreatedAt());
+             result.size() < limit && month.atDay(1).atStartOfDay().isBefore(to);
+             month = month.plusMonths(1)) {
+            Path file = archivePath(month);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try (Reader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                List<String> fields;
+                while (result.size() < limit && (fields = readRecord(reader)) != null) {
+                    OrderAuditDTO audit = toDTO(fields);
+                    if (!audit.getCreatedAt().isBefore(to)) {
+                        break;
+                    }
+                    if (after.isBefore(audit.getCreatedAt(), audit.getId()) && filter.test(audit)) {
+                        result.add(audit);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось прочитать архив аудита за " + month, e);
+            }
+        }
+        return result;
+    }
+
+    private YearMonth horizon() {
+        return YearMonth.now().minusMonths(config.getAuditRetentionMonths());
+    }
+
+    private Path archivePath(YearMonth month) {
+        return Paths.get(config.getAuditArchiveDir(), "order_audit_" + month + ".csv.gz");
+    }
+
+    private static List<String> readRow(ResultSet rs) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        return Arrays.asList(
+                rs.getString("id"),
+                rs.getTimestamp("created_at").toLocalDateTime().toString(),
+                updatedAt != null ? updatedAt.toLocalDateTime().toString() : null,
+                rs.getString("user_id"),
+                rs.getString("full_name"),
+                rs.getString("operation"),
+                rs.getString("old_value"),
+                rs.getString("new_value"),
+                rs.getString("order_id")
+        );
+    }
+
+    private static KeysetCursor positionOf(List<String> fields) {
+        return new KeysetCursor(LocalDateTime.parse(fields.get(1)), UUID.fromString(fields.get(0)));
+    }
+
+    private static void writeRecord(Writer writer, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(writer, fields.get(i));
+        }
+        writer.write('\n');
+    }
+
+    // null пишется пустым полем, строки - в кавычках (RFC 4180), чтобы отличать их от null
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static List<String> readRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(quoted ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n') {
+                break;
+            }
+            c = reader.read();
+        }
+        fields.add(quoted ? field.toString() : null);
+        return fields;
+    }
+
+    private OrderAuditDTO toDTO(List<String> fields) {
+        return new OrderAuditDTO(
+                UUID.fromString(fields.get(0)),
+                LocalDateTime.parse(fields.get(1)),
+                fields.get(2) != null ? LocalDateTime.parse(fields.get(2)) : null,
+                UUID.fromString(fields.get(3)),
+                fields.get(4),
+                AuditOperation.valueOf(fields.get(5)),
+                fields.get(6),
+                fields.get(7),
+                UUID.fromString(fields.get(8))
+        );
+    }
+
+    // Записи уже существующего архива месяца, читаемые по одной для слияния с новыми строками
+    private static final class ArchivedRecords implements Closeable {
+        private final Reader reader;
+        private List<String> next;
+
+        private ArchivedRecords(Reader reader) throws IOException {
+            this.reader = reader;
+            this.next = reader != null ? readRecord(reader) : null;
+        }
+
+        static ArchivedRecords open(Path file) throws IOException {
+            if (!Files.exists(file)) {
+                return new ArchivedRecords(null);
+            }
+            return new ArchivedRecords(new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8)));
+        }
+
+        // Переписывает записи раньше позиции (все оставшиеся, если позиция null); запись
+        // с той же позицией пропускается - вместо неё пишется строка из БД
+        void copyBefore(KeysetCursor position, Writer writer) throws IOException {
+            while (next != null) {
+                KeysetCursor archived = positionOf(next);
+                if (position != null && !archived.isBefore(position.getCreatedAt(), position.getId())) {
+                    if (!position.isBefore(archived.getCreatedAt(), archived.getId())) {
+                        next = readRecord(reader);
+                    }
+                    return;
+                }
+                writeRecord(writer, next);
+                next = readRecord(reader);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.entities.AuditOperation;
+import com.books.entities.OrderAudit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Асинхронная запись аудита: записи копятся в ограниченной очереди и
+// сбрасываются пакетными INSERT по размеру пачки или по таймеру.
+// Неудачная пачка возвращается в очередь, после auditMaxAttempts попыток записи уходят в dead letter
+@Component
+public class AuditBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditBatchWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO order_audit " +
+            "(id, created_at, user_id, operation, old_value, new_value, order_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate overflowTransaction;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int deadLetterCapacity;
+    private final BlockingQueue<PendingAudit> queue;
+    private final Deque<PendingAudit> deadLetters = new ConcurrentLinkedDeque<>();
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    @Autowired
+    public AuditBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            ApplicationConfig config) {
+        this(jdbcTemplate, transactionManager, config, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-writer");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // Планировщик передаётся снаружи, чтобы тесты запускали сброс по таймеру сами, без ожидания
+    AuditBatchWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                     ApplicationConfig config, ScheduledExecutorService executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.overflowTransaction = new TransactionTemplate(transactionManager);
+        this.overflowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = config.getAuditBatchSize();
+        this.maxAttempts = config.getAuditMaxAttempts();
+        this.deadLetterCapacity = config.getAuditDeadLetterCapacity();
+        this.queue = new ArrayBlockingQueue<>(config.getAuditQueueCapacity());
+        this.executor = executor;
+        long interval = config.getAuditFlushIntervalMillis();
+        executor.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    // Запись попадает в очередь только после коммита бизнес-транзакции,
+    // чтобы не ссылаться на заказ, который может откатиться
+    public void submit(OrderAudit audit) {
+        PendingAudit pending = new PendingAudit(audit);
+        TransactionCallbacks.afterCommit(() -> enqueue(pending));
+    }
+
+    // Сбрасывает накопленные записи пачками по batchSize. Исключения не выходят наружу:
+    // иначе планировщик отменит все следующие запуски и очередь больше не будет разбираться
+    public void flush() {
+        flushRequested.set(false);
+        List<PendingAudit> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                insert(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to write {} audit records, will retry", batch.size(), e);
+                batch.forEach(this::retryLater);
+                // Остаток очереди ждёт следующего запуска по таймеру
+                return;
+            }
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public int getDeadLetterCount() {
+        return deadLetters.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (!queue.isEmpty()) {
+            log.error("{} audit records were not written before shutdown", queue.size());
+        }
+    }
+
+    private void enqueue(PendingAudit pending) {
+        if (!queue.offer(pending)) {
+            // Очередь переполнена: пишем синхронно, чтобы не терять аудит. В afterCommit к потоку ещё
+            // привязано соединение завершённой транзакции, поэтому запись идёт в новой транзакции
+            try {
+                overflowTransaction.executeWithoutResult(status -> insert(List.of(pending)));
+            } catch (RuntimeException e) {
+                log.error("Failed to write audit record for order {} synchronously", pending.orderId, e);
+                pending.attempts++;
+                deadLetter(pending);
+            }
+            return;
+        }
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+    }
+
+    private void retryLater(PendingAudit audit) {
+        audit.attempts++;
+        if (audit.attempts >= maxAttempts || !queue.offer(audit)) {
+            deadLetter(audit);
+        }
+    }
+
+    // Запись, которую не удалось сохранить, остаётся в логе, чтобы её можно было восстановить вручную
+    private void deadLetter(PendingAudit audit) {
+        log.error("Audit record dropped after {} attempts: order={}, user={}, operation={}, old={}, new={}, at={}",
+                audit.attempts, audit.orderId, audit.userId, audit.operation, audit.oldValue, audit.newValue,
+                audit.createdAt);
+        deadLetters.addLast(audit);
+        while (deadLetters.size() > deadLetterCapacity) {
+            deadLetters.pollFirst();
+        }
+    }
+
+    private void insert(List<PendingAudit> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, audit) -> {
+            ps.setObject(1, audit.id);
+            ps.setTimestamp(2, Timestamp.valueOf(audit.createdAt));
+            ps.setObject(3, audit.userId);
+            ps.setString(4, audit.operation.name());
+            ps.setString(5, audit.oldValue);
+            ps.setString(6, audit.newValue);
+            ps.setObject(7, audit.orderId);
+        });
+    }
+
+    private static class PendingAudit {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final UUID userId;
+        private final AuditOperation operation;
+        private final String oldValue;
+        private final String newValue;
+        private final UUID orderId;
+        private int attempts;
+
+        PendingAudit(OrderAudit audit) {
+            this.userId = audit.getUser().getId();
+            this.operation = audit.getOperation();
+            this.oldValue = audit.getOldValue();
+            this.newValue = audit.getNewValue();
+            this.orderId = audit.getOrder().getId();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.books.services;
 
+import com.books.config.ApplicationConfig;
 import com.books.entities.AuditOperation;
 import com.books.entities.Order;
 import com.books.entities.OrderAudit;
@@ -11,9 +12,14 @@ import org.springframework.stereotype.Service;
 public class AuditService {
 
     private final OrderAuditRepository orderAuditRepository;
+    private final AuditBatchWriter auditBatchWriter;
+    private final ApplicationConfig config;
 
-    public AuditService(OrderAuditRepository orderAuditRepository) {
+    public AuditService(OrderAuditRepository orderAuditRepository, AuditBatchWriter auditBatchWriter,
+                        ApplicationConfig config) {
         this.orderAuditRepository = orderAuditRepository;
+        this.auditBatchWriter = auditBatchWriter;
+        this.config = config;
     }
 
     public void logOrderOperation(User user, Order order, AuditOperation operation, String oldValue, String newValue) {
@@ -24,6 +30,11 @@ public class AuditService {
         audit.setOldValue(oldValue);
         audit.setNewValue(newValue);
 
-        orderAuditRepository.save(audit);
+        // Синхронный режим: запись в той же транзакции, что и изменение заказа (гарантия доставки)
+        if (!config.isAuditAsyncEnabled()) {
+            orderAuditRepository.save(audit);
+            return;
+        }
+        auditBatchWriter.submit(audit);
     }
-}
\ No newline at end of file
+}
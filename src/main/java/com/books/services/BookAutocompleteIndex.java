@@ -0,0 +1,451 @@
+package com.books.services;
+
+import com.books.dto.BookSuggestionDTO;
+import com.books.entities.Book;
+import com.books.repositories.BookRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+
+// Автодополнение названий и авторов без обращения к БД: сжатое префиксное дерево (radix trie)
+// по нормализованным ключам - полной строке и каждому её суффиксу с начала слова. Цепочки узлов
+// с одним ребёнком склеены в одно ребро, поэтому узлов не больше двух на ключ. Каждый узел хранит
+// TOP_SIZE лучших подсказок поддерева: обычный запрос - спуск по символам префикса.
+// Узлы неизменяемые: запись копирует только путь от корня к изменённому ключу и публикует
+// новый корень, чтение идёт без блокировок
+@Component
+public class BookAutocompleteIndex {
+
+    static final int MAX_SUGGESTIONS = 50;
+    static final int TOP_SIZE = 10;
+
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingInt(Suggestion::bookCount).reversed()
+            .thenComparing(Suggestion::text, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Suggestion::text)
+            .thenComparing(Suggestion::type);
+
+    private final BookRepository bookRepository;
+    private final Map<UUID, List<SuggestionKey>> books = new HashMap<>();
+    private final Map<SuggestionKey, Set<UUID>> suggestions = new HashMap<>();
+    private volatile Node root = Node.EMPTY;
+
+    public BookAutocompleteIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Book> all = bookRepository.findAll();
+        synchronized (this) {
+            books.clear();
+            suggestions.clear();
+            for (Book book : all) {
+                add(book.getId(), keysOf(book));
+            }
+            List<Map.Entry<String, Suggestion>> entries = new ArrayList<>();
+            for (SuggestionKey key : suggestions.keySet()) {
+                Suggestion suggestion = suggestionOf(key);
+                for (String suffix : suffixes(key)) {
+                    entries.add(Map.entry(suffix, suggestion));
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey());
+            root = new Node("", List.of(), children(entries, 0, entries.size(), 0));
+        }
+    }
+
+    // Изменения применяются после коммита, как и в полнотекстовом индексе
+    public void index(Book book) {
+        UUID bookId = Objects.requireNonNull(book.getId());
+        List<SuggestionKey> keys = keysOf(book);
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                Set<SuggestionKey> changed = new HashSet<>(remove(bookId));
+                changed.addAll(add(bookId, keys));
+                refresh(changed);
+            }
+        });
+    }
+
+    public void delete(UUID bookId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                refresh(remove(bookId));
+            }
+        });
+    }
+
+    // До limit подсказок, начинающихся с префикса (с начала строки или любого слова),
+    // упорядоченных по числу книг, затем по алфавиту
+    public List<BookSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        Node node = find(root, normalized);
+        if (node == null) {
+            return List.of();
+        }
+        return best(node, Math.min(limit, MAX_SUGGESTIONS)).stream()
+                .map(s -> new BookSuggestionDTO(s.text(), s.type(), s.bookCount()))
+                .toList();
+    }
+
+    // Число узлов дерева - для проверки расхода памяти
+    int nodeCount() {
+        int count = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            count++;
+            node.children.values().forEach(pending::push);
+        }
+        return count;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replace('ё', 'е')
+                .replaceAll("[^\\p{L}\\p{Nd}]+", " ")
+                .trim();
+    }
+
+    // Узел, поддерево которого содержит все ключи с префиксом (префикс может закончиться посреди ребра)
+    private static Node find(Node root, String prefix) {
+        Node node = root;
+        String rest = prefix;
+        while (true) {
+            if (rest.length() <= node.label.length()) {
+                return node.label.startsWith(rest) ? node : null;
+            }
+            if (!rest.startsWith(node.label)) {
+                return null;
+            }
+            rest = rest.substring(node.label.length());
+            node = node.children.get(rest.charAt(0));
+            if (node == null) {
+                return null;
+            }
+        }
+    }
+
+    // Для limit <= TOP_SIZE ответ уже готов в узле. Больше подсказок собирается слиянием:
+    // очередь источников упорядочена по следующей подсказке, а исчерпанный полный список узла
+    // раскрывается в его собственные ключи и детей - всё, чего нет в списке, стоит ниже его последнего элемента
+    private static List<Suggestion> best(Node node, int limit) {
+        if (limit <= node.top.size() || node.top.size() < TOP_SIZE) {
+            return node.top.subList(0, Math.min(limit, node.top.size()));
+        }
+        List<Suggestion> result = new ArrayList<>(limit);
+        Set<SuggestionKey> seen = new HashSet<>();
+        PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparing(Cursor::head, RANKING));
+        queue.add(new Cursor(node.top, 0, node));
+        while (result.size() < limit && !queue.isEmpty()) {
+            Cursor cursor = queue.poll();
+            if (cursor.index() == cursor.items().size()) {
+                Node expanded = cursor.expandable();
+                if (!expanded.ending.isEmpty()) {
+                    queue.add(new Cursor(expanded.ending.stream().sorted(RANKING).toList(), 0, null));
+                }
+                for (Node child : expanded.children.values()) {
+                    queue.add(new Cursor(child.top, 0, child.top.size() == TOP_SIZE ? child : null));
+                }
+                continue;
+            }
+            Suggestion suggestion = cursor.items().get(cursor.index());
+            if (seen.add(suggestion.key())) {
+                result.add(suggestion);
+            }
+            Cursor next = new Cursor(cursor.items(), cursor.index() + 1, cursor.expandable());
+            if (next.index() < next.items().size() || next.expandable() != null) {
+                queue.add(next);
+            }
+        }
+        return result;
+    }
+
+    // Дети узла из отсортированного диапазона ключей, совпадающих в первых depth символах
+    private static Map<Character, Node> children(List<Map.Entry<String, Suggestion>> entries,
+                                                 int from, int to, int depth) {
+        Map<Character, Node> children = new HashMap<>();
+        int start = from;
+        while (start < to) {
+            char first = entries.get(start).getKey().charAt(depth);
+            int end = start + 1;
+            while (end < to && entries.get(end).getKey().charAt(depth) == first) {
+                end++;
+            }
+            children.put(first, build(entries, start, end, depth));
+            start = end;
+        }
+        return children;
+    }
+
+    // Ребро узла - общий префикс диапазона; первый и последний ключи отсортированного диапазона его задают
+    private static Node build(List<Map.Entry<String, Suggestion>> entries, int from, int to, int depth) {
+        String first = entries.get(from).getKey();
+        int common = depth + commonPrefix(first.substring(depth), entries.get(to - 1).getKey().substring(depth));
+        List<Suggestion> ending = new ArrayList<>();
+        int start = from;
+        while (start < to && entries.get(start).getKey().length() == common) {
+            ending.add(entries.get(start).getValue());
+            start++;
+        }
+        return new Node(first.substring(depth, common), List.copyOf(ending), children(entries, start, to, common));
+    }
+
+    // Каждый суффикс изменившихся ключей обновляется копированием пути; новый корень публикуется
+    // один раз, когда все суффиксы обновлены, и читатели не видят промежуточных счётчиков
+    private void refresh(Collection<SuggestionKey> keys) {
+        Node updated = root;
+        for (SuggestionKey key : keys) {
+            Suggestion suggestion = suggestionOf(key);
+            for (String suffix : suffixes(key)) {
+                char first = suffix.charAt(0);
+                Node child = updated.children.get(first);
+                Node changed;
+                if (suggestion != null) {
+                    changed = child == null ? Node.leaf(suffix, suggestion) : put(child, suffix, suggestion);
+                } else {
+                    changed = child == null ? null : remove(child, suffix, key);
+                }
+                if (changed != child) {
+                    updated = updated.withChild(first, changed);
+                }
+            }
+        }
+        root = updated;
+    }
+
+    // Новый узел вместо node с ключом suffix; suffix начинается с того же символа, что и ребро узла
+    private static Node put(Node node, String suffix, Suggestion suggestion) {
+        int common = commonPrefix(node.label, suffix);
+        if (common < node.label.length()) {
+            Node lower = node.withLabel(node.label.substring(common));
+            String head = suffix.substring(0, common);
+            if (common == suffix.length()) {
+                return new Node(head, List.of(suggestion), Map.of(lower.label.charAt(0), lower));
+            }
+            Node leaf = Node.leaf(suffix.substring(common), suggestion);
+            return new Node(head, List.of(), Map.of(lower.label.charAt(0), lower, leaf.label.charAt(0), leaf));
+        }
+        if (common == suffix.length()) {
+            return node.withEnding(replaced(node.ending, suggestion));
+        }
+        String rest = suffix.substring(common);
+        Node child = node.children.get(rest.charAt(0));
+        return node.withChild(rest.charAt(0), child == null ? Node.leaf(rest, suggestion) : put(child, rest, suggestion));
+    }
+
+    // Новый узел вместо node без ключа suffix; null - узел опустел. Узел без своих ключей
+    // с единственным ребёнком склеивается с ним, чтобы дерево оставалось сжатым
+    private static Node remove(Node node, String suffix, SuggestionKey key) {
+        if (!suffix.startsWith(node.label)) {
+            return node;
+        }
+        Node result;
+        if (suffix.length() == node.label.length()) {
+            List<Suggestion> ending = node.ending.stream().filter(s -> !s.key().equals(key)).toList();
+            if (ending.size() == node.ending.size()) {
+                return node;
+            }
+            result = node.withEnding(ending);
+        } else {
+            String rest = suffix.substring(node.label.length());
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return node;
+            }
+            Node changed = remove(child, rest, key);
+            if (changed == child) {
+                return node;
+            }
+            result = node.withChild(rest.charAt(0), changed);
+        }
+        if (result.ending.isEmpty() && result.children.isEmpty()) {
+            return null;
+        }
+        if (result.ending.isEmpty() && result.children.size() == 1) {
+            Node only = result.children.values().iterator().next();
+            return new Node(result.label + only.label, only.ending, only.children, only.top);
+        }
+        return result;
+    }
+
+    private static List<Suggestion> replaced(List<Suggestion> ending, Suggestion suggestion) {
+        List<Suggestion> result = new ArrayList<>(ending.size() + 1);
+        for (Suggestion existing : ending) {
+            if (!existing.key().equals(suggestion.key())) {
+                result.add(existing);
+            }
+        }
+        result.add(suggestion);
+        return List.copyOf(result);
+    }
+
+    private static int commonPrefix(String left, String right) {
+        int length = Math.min(left.length(), right.length());
+        int i = 0;
+        while (i < length && left.charAt(i) == right.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private Suggestion suggestionOf(SuggestionKey key) {
+        Set<UUID> ids = suggestions.get(key);
+        return ids == null ? null : new Suggestion(key.text(), key.type(), ids.size());
+    }
+
+    // Нормализованная строка и каждый её суффикс, начинающийся со слова
+    private static List<String> suffixes(SuggestionKey key) {
+        String normalized = normalize(key.text());
+        List<String> suffixes = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            suffixes.add(normalized.substring(start));
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                return suffixes;
+            }
+            start = space + 1;
+        }
+    }
+
+    private List<SuggestionKey> add(UUID bookId, List<SuggestionKey> keys) {
+        books.put(bookId, keys);
+        for (SuggestionKey key : keys) {
+            suggestions.computeIfAbsent(key, k -> new HashSet<>()).add(bookId);
+        }
+        return keys;
+    }
+
+    private List<SuggestionKey> remove(UUID bookId) {
+        List<SuggestionKey> keys = books.remove(bookId);
+        if (keys == null) {
+            return List.of();
+        }
+        for (SuggestionKey key : keys) {
+            Set<UUID> ids = suggestions.get(key);
+            if (ids != null) {
+                ids.remove(bookId);
+                if (ids.isEmpty()) {
+                    suggestions.remove(key);
+                }
+            }
+        }
+        return keys;
+    }
+
+    private static List<SuggestionKey> keysOf(Book book) {
+        List<SuggestionKey> keys = new ArrayList<>(2);
+        if (book.getTitle() != null && !normalize(book.getTitle()).isEmpty()) {
+            keys.add(new SuggestionKey(book.getTitle().trim(), "TITLE"));
+        }
+        if (book.getAuthor() != null && !normalize(book.getAuthor()).isEmpty()) {
+            keys.add(new SuggestionKey(book.getAuthor().trim(), "AUTHOR"));
+        }
+        return List.copyOf(keys);
+    }
+
+    private record SuggestionKey(String text, String type) {}
+
+    private record Suggestion(String text, String type, int bookCount) {
+        SuggestionKey key() {
+            return new SuggestionKey(text, type);
+        }
+    }
+
+    private record Cursor(List<Suggestion> items, int index, Node expandable) {
+        Suggestion head() {
+            return items.get(Math.min(index, items.size() - 1));
+        }
+    }
+
+    // Неизменяемый узел: ребро от родителя, ключи, заканчивающиеся здесь, дети по первому символу ребра
+    // и не больше TOP_SIZE лучших подсказок поддерева. Пустые коллекции - общие экземпляры List.of()/Map.of()
+    private static final class Node {
+        static final Node EMPTY = new Node("", List.of(), Map.of());
+
+        private final String label;
+        private final List<Suggestion> ending;
+        private final Map<Character, Node> children;
+        private final List<Suggestion> top;
+
+        Node(String label, List<Suggestion> ending, Map<Character, Node> children) {
+            this(label, ending, Map.copyOf(children), null);
+        }
+
+        private Node(String label, List<Suggestion> ending, Map<Character, Node> children, List<Suggestion> top) {
+            this.label = label;
+            this.ending = ending;
+            this.children = children;
+            this.top = top != null ? top : rank(ending, children);
+        }
+
+        static Node leaf(String label, Suggestion suggestion) {
+            return new Node(label, List.of(suggestion), Map.of(), List.of(suggestion));
+        }
+
+        Node withLabel(String label) {
+            return new Node(label, ending, children, top);
+        }
+
+        Node withEnding(List<Suggestion> ending) {
+            return new Node(label, ending, children, null);
+        }
+
+        // null удаляет ребёнка
+        Node withChild(char first, Node child) {
+            Map<Character, Node> copy = new HashMap<>(children);
+            if (child == null) {
+                copy.remove(first);
+            } else {
+                copy.put(first, child);
+            }
+            return new Node(label, ending, Map.copyOf(copy), null);
+        }
+
+        // Лучшие подсказки поддерева входят в лучшие подсказки одного из детей,
+        // поэтому достаточно слить списки детей и ключи самого узла
+        private static List<Suggestion> rank(List<Suggestion> ending, Map<Character, Node> children) {
+            if (children.isEmpty() && ending.size() <= 1) {
+                return ending;
+            }
+            List<Suggestion> candidates = new ArrayList<>(ending);
+            for (Node child : children.values()) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort(RANKING);
+            List<Suggestion> top = new ArrayList<>(TOP_SIZE);
+            Set<SuggestionKey> seen = new HashSet<>();
+            for (Suggestion candidate : candidates) {
+                if (top.size() == TOP_SIZE) {
+                    break;
+                }
+                if (seen.add(candidate.key())) {
+                    top.add(candidate);
+                }
+            }
+            return List.copyOf(top);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.books.services;
+
+import com.books.dto.AvailabilityCountDTO;
+import com.books.dto.BookAvailabilityDTO;
+import com.books.entities.BookInstance;
+import com.books.entities.BookInstanceStatus;
+import com.books.repositories.BookInstanceRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Счётчики доступности экземпляров по книге и библиотеке в памяти.
+// Обновляются после коммита при каждой смене статуса экземпляра и периодически сверяются
+// с GROUP BY по book_instances, чтобы ответ "3 из 7 свободно" не требовал загрузки экземпляров
+@Component
+public class BookAvailabilityIndex {
+
+    private final BookInstanceRepository bookInstanceRepository;
+    private final Map<UUID, Map<UUID, Counts>> counts = new ConcurrentHashMap<>();
+
+    public BookAvailabilityIndex(BookInstanceRepository bookInstanceRepository) {
+        this.bookInstanceRepository = bookInstanceRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reconcile();
+    }
+
+    // Сверка с БД. Изменения, закоммиченные во время выборки, могут быть учтены дважды или пропущены,
+    // такое расхождение исправит следующая сверка. Возвращает число исправленных пар (книга, библиотека)
+    @Scheduled(fixedDelay = 5, initialDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public int reconcile() {
+        Map<UUID, Map<UUID, Counts>> actual = new HashMap<>();
+        for (AvailabilityCountDTO row : bookInstanceRepository.countAvailability()) {
+            actual.computeIfAbsent(row.getBookId(), id -> new ConcurrentHashMap<>())
+                    .put(row.getLibraryId(), new Counts(row.getTotal(), row.getAvailable()));
+        }
+
+        int drifted = 0;
+        for (Map.Entry<UUID, Map<UUID, Counts>> entry : actual.entrySet()) {
+            Map<UUID, Counts> current = counts.get(entry.getKey());
+            for (Map.Entry<UUID, Counts> library : entry.getValue().entrySet()) {
+                if (current == null || !library.getValue().equals(current.get(library.getKey()))) {
+                    drifted++;
+                }
+            }
+            if (current != null) {
+                drifted += (int) current.entrySet().stream()
+                        .filter(library -> !library.getValue().isEmpty())
+                        .filter(library -> !entry.getValue().containsKey(library.getKey()))
+                        .count();
+            }
+            counts.put(entry.getKey(), entry.getValue());
+        }
+        for (UUID bookId : List.copyOf(counts.keySet())) {
+            if (!actual.containsKey(bookId)) {
+                Map<UUID, Counts> stale = counts.remove(bookId);
+                if (stale != null) {
+                    drifted += (int) stale.values().stream().filter(c -> !c.isEmpty()).count();
+                }
+            }
+        }
+        return drifted;
+    }
+
+    // Смена статуса экземпляра: from == null - экземпляр создан, to == null - удалён.
+    // Применяется после коммита, чтобы откат транзакции не исказил счётчики
+    public void statusChanged(BookInstance bookInstance, BookInstanceStatus from, BookInstanceStatus to) {
+        if (from == to) {
+            return;
+        }
+        UUID bookId = bookInstance.getBook().getId();
+        UUID libraryId = bookInstance.getLibrary().getId();
+        long totalDelta = (from == null ? 1 : 0) - (to == null ? 1 : 0);
+        long availableDelta = (to == BookInstanceStatus.AVAILABLE ? 1 : 0) - (from == BookInstanceStatus.AVAILABLE ? 1 : 0);
+        if (totalDelta == 0 && availableDelta == 0) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> counts.computeIfAbsent(bookId, id -> new ConcurrentHashMap<>())
+                .merge(libraryId, new Counts(totalDelta, availableDelta), Counts::plus));
+    }
+
+    public Optional<BookAvailabilityDTO> getForBook(UUID bookId) {
+        Map<UUID, Counts> libraries = counts.get(bookId);
+        if (libraries == null) {
+            return Optional.empty();
+        }
+        List<AvailabilityCountDTO> rows = libraries.entrySet().stream()
+                .filter(entry -> !entry.getValue().isEmpty())
+                .map(entry -> new AvailabilityCountDTO(bookId, entry.getKey(),
+                        entry.getValue().total(), entry.getValue().available()))
+                .sorted(Comparator.comparing(AvailabilityCountDTO::getAvailable).reversed()
+                        .thenComparing(AvailabilityCountDTO::getLibraryId))
+                .toList();
+        long total = rows.stream().mapToLong(AvailabilityCountDTO::getTotal).sum();
+        long available = rows.stream().mapToLong(AvailabilityCountDTO::getAvailable).sum();
+        return Optional.of(new BookAvailabilityDTO(bookId, total, available, rows));
+    }
+
+    private record Counts(long total, long available) {
+        Counts plus(Counts delta) {
+            return new Counts(total + delta.total, available + delta.available);
+        }
+
+        boolean isEmpty() {
+            return total == 0 && available == 0;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.books.services;
 
+import com.books.dto.BookAvailabilityDTO;
 import com.books.dto.BookInstanceDTO;
 import com.books.dto.CreateBookInstanceDTO;
 import com.books.dto.UpdateBookInstanceDTO;
@@ -11,6 +12,8 @@ import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.BookInstanceRepository;
 import com.books.repositories.BookRepository;
 import com.books.repositories.LibraryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,16 +25,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookInstanceService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookInstanceService.class);
+
     private final BookInstanceRepository bookInstanceRepository;
     private final BookRepository bookRepository;
     private final LibraryRepository libraryRepository;
+    private final BookAvailabilityIndex bookAvailabilityIndex;
 
     public BookInstanceService(BookInstanceRepository bookInstanceRepository,
                                BookRepository bookRepository,
-                               LibraryRepository libraryRepository) {
+                               LibraryRepository libraryRepository,
+                               BookAvailabilityIndex bookAvailabilityIndex) {
         this.bookInstanceRepository = bookInstanceRepository;
         this.bookRepository = bookRepository;
         this.libraryRepository = libraryRepository;
+        this.bookAvailabilityIndex = bookAvailabilityIndex;
     }
 
     public List<BookInstanceDTO> findAll() {
@@ -76,8 +84,19 @@ public class BookInstanceService {
                 .collect(Collectors.toList());
     }
 
+    // Сколько экземпляров книги всего и сколько свободно, по библиотекам, из счётчиков в памяти
+    public BookAvailabilityDTO getAvailability(UUID bookId) {
+        return bookAvailabilityIndex.getForBook(bookId)
+                .orElseGet(() -> {
+                    if (!bookRepository.existsById(bookId)) {
+                        throw new EntityNotFoundException("Книга с id: " + bookId + " не найдена");
+                    }
+                    return new BookAvailabilityDTO(bookId, 0, 0, List.of());
+                });
+    }
+
     public BookInstanceDTO createBookInstance(CreateBookInstanceDTO bookInstanceDTO) {
-        System.out.println("Create BookInstance for book: " + bookInstanceDTO.getBookId() + " in library: " + bookInstanceDTO.getLibraryId());
+        log.info("Create BookInstance for book: {} in library: {}", bookInstanceDTO.getBookId(), bookInstanceDTO.getLibraryId());
 
         Book book = bookRepository.findById(bookInstanceDTO.getBookId())
                 .orElseThrow(() -> new EntityNotFoundException("Книга с id: " + bookInstanceDTO.getBookId() + " не найдена"));
@@ -91,6 +110,7 @@ public class BookInstanceService {
         bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
 
         BookInstance savedBookInstance = bookInstanceRepository.save(bookInstance);
+        bookAvailabilityIndex.statusChanged(savedBookInstance, null, savedBookInstance.getStatus());
         return convertToDTO(savedBookInstance);
     }
 
@@ -98,11 +118,13 @@ public class BookInstanceService {
         BookInstance bookInstance = bookInstanceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Экземпляр книги с id: " + id + " не найден"));
 
+        BookInstanceStatus oldStatus = bookInstance.getStatus();
         if (bookInstanceDTO.getStatus() != null) {
             bookInstance.setStatus(bookInstanceDTO.getStatus());
         }
 
         BookInstance savedBookInstance = bookInstanceRepository.save(bookInstance);
+        bookAvailabilityIndex.statusChanged(savedBookInstance, oldStatus, savedBookInstance.getStatus());
         return convertToDTO(savedBookInstance);
     }
 
@@ -110,6 +132,7 @@ public class BookInstanceService {
         BookInstance bookInstance = bookInstanceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Экземпляр книги с id: " + id + " не найден"));
         bookInstanceRepository.delete(bookInstance);
+        bookAvailabilityIndex.statusChanged(bookInstance, bookInstance.getStatus(), null);
     }
 
     private BookInstanceDTO convertToDTO(BookInstance bookInstance) {
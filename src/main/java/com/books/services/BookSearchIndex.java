@@ -0,0 +1,192 @@
+package com.books.services;
+
+import com.books.dto.BookDTO;
+import com.books.entities.Book;
+import com.books.entities.SearchWords;
+import com.books.repositories.BookRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Полнотекстовый индекс каталога в памяти: термины названия и автора -> книги.
+// Строится при старте и обновляется после коммита createBook/updateBook/deleteBook,
+// поэтому поиск не выполняет LIKE '%...%' по всей таблице books
+@Component
+public class BookSearchIndex {
+
+    public enum Field { TITLE, AUTHOR, ALL }
+
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double AUTHOR_WEIGHT = 1.0;
+    private static final double PREFIX_MATCH_WEIGHT = 0.5;
+
+    private final BookRepository bookRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, BookDTO> documents = new HashMap<>();
+    private final NavigableMap<String, Map<UUID, Posting>> postings = new TreeMap<>();
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Book> books = bookRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            for (Book book : books) {
+                add(toDocument(book));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Изменения применяются после коммита, чтобы откат транзакции не оставил индекс рассинхронизированным
+    public void index(Book book) {
+        BookDTO document = toDocument(book);
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(document.getId());
+                add(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void delete(UUID bookId) {
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Книги, содержащие все слова запроса (слово совпадает целиком или как префикс термина),
+    // в порядке убывания релевантности: TF-IDF с повышенным весом названия
+    public List<BookDTO> search(String query, Field field) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(SearchWords.tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<UUID, Double> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<UUID, Double> termScores = scoreTerm(queryTerm, field);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Map<UUID, Double> ranked = scores;
+            return ranked.keySet().stream()
+                    .map(documents::get)
+                    .sorted(Comparator.<BookDTO>comparingDouble(book -> ranked.get(book.getId())).reversed()
+                            .thenComparing(BookDTO::getTitle, String.CASE_INSENSITIVE_ORDER)
+                            .thenComparing(BookDTO::getId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<UUID, Double> scoreTerm(String queryTerm, Field field) {
+        Map<UUID, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<UUID, Posting>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            double matchWeight = entry.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_WEIGHT;
+            double idf = Math.log(1.0 + (double) documents.size() / entry.getValue().size());
+            for (Map.Entry<UUID, Posting> posting : entry.getValue().entrySet()) {
+                double frequency = posting.getValue().weightedFrequency(field);
+                if (frequency > 0) {
+                    scores.merge(posting.getKey(), matchWeight * idf * frequency, Math::max);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void add(BookDTO document) {
+        documents.put(document.getId(), document);
+        for (String term : SearchWords.tokenize(document.getTitle())) {
+            postings.computeIfAbsent(term, t -> new HashMap<>())
+                    .computeIfAbsent(document.getId(), id -> new Posting()).titleFrequency++;
+        }
+        for (String term : SearchWords.tokenize(document.getAuthor())) {
+            postings.computeIfAbsent(term, t -> new HashMap<>())
+                    .computeIfAbsent(document.getId(), id -> new Posting()).authorFrequency++;
+        }
+    }
+
+    private void remove(UUID bookId) {
+        BookDTO previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        Set<String> terms = new HashSet<>(SearchWords.tokenize(previous.getTitle()));
+        terms.addAll(SearchWords.tokenize(previous.getAuthor()));
+        for (String term : terms) {
+            Map<UUID, Posting> books = postings.get(term);
+            if (books != null) {
+                books.remove(bookId);
+                if (books.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static BookDTO toDocument(Book book) {
+        return new BookDTO(book.getId(), book.getTitle(), book.getAuthor(), book.getPublicationYear());
+    }
+
+    private static class Posting {
+        private int titleFrequency;
+        private int authorFrequency;
+
+        double weightedFrequency(Field field) {
+            return switch (field) {
+                case TITLE -> titleFrequency * TITLE_WEIGHT;
+                case AUTHOR -> authorFrequency * AUTHOR_WEIGHT;
+                case ALL -> titleFrequency * TITLE_WEIGHT + authorFrequency * AUTHOR_WEIGHT;
+            };
+        }
+    }
+}
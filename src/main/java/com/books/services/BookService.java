@@ -1,15 +1,32 @@
 package com.books.services;
 
+import com.books.config.ApplicationConfig;
+import com.books.config.CacheConfig;
 import com.books.dto.BookDTO;
+import com.books.dto.BookSearchCriteria;
+import com.books.dto.BookSearchPageDTO;
+import com.books.dto.BookSuggestionDTO;
 import com.books.dto.CreateBookDTO;
 import com.books.dto.UpdateBookDTO;
 import com.books.entities.Book;
+import com.books.entities.SearchWords;
 import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.BookRepository;
+import com.books.repositories.BookSpecifications;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -17,10 +34,21 @@ import java.util.stream.Collectors;
 @Transactional
 public class BookService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookService.class);
+
+    private static final Set<String> SORT_FIELDS = Set.of("title", "author", "publicationYear");
+
     private final BookRepository bookRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookAutocompleteIndex bookAutocompleteIndex;
+    private final ApplicationConfig config;
 
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, BookSearchIndex bookSearchIndex,
+                       BookAutocompleteIndex bookAutocompleteIndex, ApplicationConfig config) {
         this.bookRepository = bookRepository;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookAutocompleteIndex = bookAutocompleteIndex;
+        this.config = config;
     }
 
     public List<BookDTO> findAll() {
@@ -29,22 +57,42 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id")
     public BookDTO findById(UUID id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Книга с id: " + id + " не найдена"));
         return convertToDTO(book);
     }
 
+    // Поиск по словам названия через полнотекстовый индекс, по убыванию релевантности
     public List<BookDTO> findByTitle(String title) {
-        return bookRepository.findByTitleContainingIgnoreCase(title).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return bookSearchIndex.search(title, BookSearchIndex.Field.TITLE);
     }
 
+    // Поиск по словам имени автора через полнотекстовый индекс
     public List<BookDTO> findByAuthor(String author) {
-        return bookRepository.findByAuthorContainingIgnoreCase(author).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return bookSearchIndex.search(author, BookSearchIndex.Field.AUTHOR);
+    }
+
+    // Подсказки для строки поиска по префиксу названия или автора, без запроса к БД
+    public List<BookSuggestionDTO> autocomplete(String prefix, Integer limit) {
+        int suggestions = limit == null ? 10 : limit;
+        if (suggestions < 1 || suggestions > BookAutocompleteIndex.MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException(
+                    "Количество подсказок должно быть от 1 до " + BookAutocompleteIndex.MAX_SUGGESTIONS);
+        }
+        return bookAutocompleteIndex.suggest(prefix, suggestions);
+    }
+
+    // Полнотекстовый поиск по названию и автору с постраничной выдачей
+    public BookSearchPageDTO fullTextSearch(String query, Integer page, Integer size) {
+        int pageNumber = pageNumber(page);
+        int pageSize = pageSize(size);
+
+        List<BookDTO> ranked = bookSearchIndex.search(query, BookSearchIndex.Field.ALL);
+        int from = (int) Math.min((long) pageNumber * pageSize, ranked.size());
+        int to = Math.min(from + pageSize, ranked.size());
+        return new BookSearchPageDTO(ranked.subList(from, to), pageNumber, pageSize, ranked.size());
     }
 
     public List<BookDTO> findByPublicationYear(Integer year) {
@@ -59,8 +107,9 @@ public class BookService {
                 .collect(Collectors.toList());
     }
 
+    @CachePut(cacheNames = CacheConfig.BOOKS, key = "#result.id")
     public BookDTO createBook(CreateBookDTO bookDTO) {
-        System.out.println("Create Book " + bookDTO.getTitle() + " " + bookDTO.getAuthor() + " " + bookDTO.getPublicationYear());
+        log.info("Create Book {} {} {}", bookDTO.getTitle(), bookDTO.getAuthor(), bookDTO.getPublicationYear());
 
         Book book = new Book();
         book.setTitle(bookDTO.getTitle());
@@ -68,9 +117,12 @@ public class BookService {
         book.setPublicationYear(bookDTO.getPublicationYear());
 
         Book savedBook = bookRepository.save(book);
+        bookSearchIndex.index(savedBook);
+        bookAutocompleteIndex.index(savedBook);
         return convertToDTO(savedBook);
     }
 
+    @CachePut(cacheNames = CacheConfig.BOOKS, key = "#id")
     public BookDTO updateBook(UUID id, UpdateBookDTO bookDTO) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Книга с id: " + id + " не найдена"));
@@ -86,24 +138,82 @@ public class BookService {
         }
 
         Book savedBook = bookRepository.save(book);
+        bookSearchIndex.index(savedBook);
+        bookAutocompleteIndex.index(savedBook);
         return convertToDTO(savedBook);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     public void deleteBook(UUID id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Книга с id: " + id + " не найдена"));
         bookRepository.delete(book);
+        bookSearchIndex.delete(id);
+        bookAutocompleteIndex.delete(id);
+    }
+
+    // Поиск по всем заданным фильтрам сразу одним запросом с сортировкой и страницами.
+    // Слова названия и автора проверяются в SQL рядом с остальными условиями, а не списком id
+    // из индекса: иначе популярный префикс превращается в IN на десятки тысяч параметров
+    @Transactional(readOnly = true)
+    public BookSearchPageDTO searchBooks(BookSearchCriteria criteria, Integer page, Integer size,
+                                         String sort, String direction) {
+        int pageNumber = pageNumber(page);
+        int pageSize = pageSize(size);
+        String sortField = sort == null || sort.isEmpty() ? "title" : sort;
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new IllegalArgumentException("Недопустимое поле сортировки: " + sort);
+        }
+        Sort.Direction sortDirection = direction == null || direction.isEmpty()
+                ? Sort.Direction.ASC : Sort.Direction.fromString(direction);
+        if (criteria.getYearFrom() != null && criteria.getYearTo() != null
+                && criteria.getYearFrom() > criteria.getYearTo()) {
+            throw new IllegalArgumentException("Начальный год не может быть больше конечного");
+        }
+
+        List<String> titleWords = words(criteria.getTitle());
+        List<String> authorWords = words(criteria.getAuthor());
+        if (titleWords != null && titleWords.isEmpty() || authorWords != null && authorWords.isEmpty()) {
+            return new BookSearchPageDTO(List.of(), pageNumber, pageSize, 0);
+        }
+
+        Specification<Book> specification = Specification.where(BookSpecifications.titleHasWords(titleWords))
+                .and(BookSpecifications.authorHasWords(authorWords))
+                .and(BookSpecifications.yearFrom(criteria.getYearFrom()))
+                .and(BookSpecifications.yearTo(criteria.getYearTo()))
+                .and(BookSpecifications.hasInstance(criteria.getLibraryId(), criteria.getAvailable()));
+        Sort order = Sort.by(sortDirection, sortField).and(Sort.by("id"));
+
+        Page<Book> books = bookRepository.findAll(specification, PageRequest.of(pageNumber, pageSize, order));
+        List<BookDTO> items = books.getContent().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        return new BookSearchPageDTO(items, pageNumber, pageSize, books.getTotalElements());
+    }
+
+    private int pageNumber(Integer page) {
+        int pageNumber = page == null ? 0 : page;
+        if (pageNumber < 0) {
+            throw new IllegalArgumentException("Номер страницы не может быть отрицательным");
+        }
+        return pageNumber;
+    }
+
+    private int pageSize(Integer size) {
+        int pageSize = size == null ? config.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > config.getMaxPageSize()) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + config.getMaxPageSize());
+        }
+        return pageSize;
     }
 
-    public List<BookDTO> searchBooks(String title, String author, Integer year) {
-        if (title != null && !title.isEmpty()) {
-            return findByTitle(title);
-        } else if (author != null && !author.isEmpty()) {
-            return findByAuthor(author);
-        } else if (year != null) {
-            return findByPublicationYear(year);
+    // Слова запроса по правилам полнотекстового индекса; null - фильтр не задан,
+    // пустой список - задан, но не содержит ни одного слова
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
         }
-        return findAll();
+        return SearchWords.tokenize(text).stream().distinct().toList();
     }
 
     private BookDTO convertToDTO(Book book) {
@@ -0,0 +1,85 @@
+package com.books.services;
+
+import com.books.entities.Book;
+import com.books.repositories.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Колонки title_words/author_words для текстовых фильтров searchBooks. При старте заполняет их
+// у книг, сохранённых до появления колонок, и на PostgreSQL создаёт триграммные GIN-индексы:
+// без них условие LIKE '% слово%' читает всю таблицу books
+@Component
+public class BookWordsInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(BookWordsInitializer.class);
+
+    private static final List<String> POSTGRESQL_INDEXES = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_books_title_words_trgm ON books USING gin (title_words gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_books_author_words_trgm ON books USING gin (author_words gin_trgm_ops)");
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BookWordsInitializer(BookRepository bookRepository, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        int filled = fillMissingWords();
+        if (filled > 0) {
+            log.info("Заполнены слова поиска у {} книг", filled);
+        }
+        if (isPostgreSql()) {
+            createIndexes();
+        }
+    }
+
+    // Заполняет слова пачками, каждая в своей транзакции; изменения идут через JPA,
+    // чтобы кэш второго уровня не хранил книги с пустыми словами
+    public int fillMissingWords() {
+        int total = 0;
+        while (true) {
+            Integer filled = transactionTemplate.execute(status -> {
+                List<Book> books = bookRepository.findTop500ByTitleWordsIsNullOrAuthorWordsIsNull();
+                books.forEach(Book::refreshWords);
+                bookRepository.saveAll(books);
+                return books.size();
+            });
+            if (filled == null || filled == 0) {
+                return total;
+            }
+            total += filled;
+        }
+    }
+
+    private boolean isPostgreSql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(product);
+    }
+
+    private void createIndexes() {
+        try {
+            POSTGRESQL_INDEXES.forEach(jdbcTemplate::execute);
+        } catch (DataAccessException e) {
+            // Например, нет прав на CREATE EXTENSION: поиск работает, но текстовые фильтры читают всю таблицу
+            log.warn("Не удалось создать триграммные индексы для поиска книг: {}", e.getMessage());
+        }
+    }
+}
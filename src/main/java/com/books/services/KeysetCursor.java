@@ -0,0 +1,46 @@
+package com.books.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Позиция keyset-пагинации (createdAt, id), передаётся клиенту как непрозрачная строка
+public class KeysetCursor {
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public KeysetCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public UUID getId() { return id; }
+
+    // Позиция раньше записи (createdAt, id) в порядке ORDER BY created_at, id
+    public boolean isBefore(LocalDateTime createdAt, UUID id) {
+        int byTime = this.createdAt.compareTo(createdAt);
+        return byTime < 0 || (byTime == 0 && compareIds(this.id, id) < 0);
+    }
+
+    // UUID сравниваются без знака, как в PostgreSQL и H2; UUID.compareTo сравнивает со знаком
+    public static int compareIds(UUID left, UUID right) {
+        int byHigh = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    public String encode() {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        if (position.length != 2) {
+            throw new IllegalArgumentException("Некорректный курсор: " + cursor);
+        }
+        return new KeysetCursor(LocalDateTime.parse(position[0]), UUID.fromString(position[1]));
+    }
+}
@@ -1,11 +1,18 @@
 package com.books.services;
 
+import com.books.config.CacheConfig;
 import com.books.dto.CreateLibraryDTO;
 import com.books.dto.LibraryDTO;
 import com.books.dto.UpdateLibraryDTO;
 import com.books.entities.Library;
 import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.LibraryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,18 +24,23 @@ import java.util.stream.Collectors;
 @Transactional
 public class LibraryService {
 
+    private static final Logger log = LoggerFactory.getLogger(LibraryService.class);
+
     private final LibraryRepository libraryRepository;
 
     public LibraryService(LibraryRepository libraryRepository) {
         this.libraryRepository = libraryRepository;
     }
 
+    @Cacheable(cacheNames = CacheConfig.LIBRARY_LIST, key = "'all'")
     public List<LibraryDTO> findAll() {
+        // Неизменяемый список: один и тот же экземпляр отдаётся из кэша всем вызывающим
         return libraryRepository.findAll().stream()
                 .map(this::convertToDTO)
-                .collect(Collectors.toList());
+                .toList();
     }
 
+    @Cacheable(cacheNames = CacheConfig.LIBRARIES, key = "#id")
     public LibraryDTO findById(UUID id) {
         Library library = libraryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Библиотека с id: " + id + " не найдена"));
@@ -47,8 +59,12 @@ public class LibraryService {
                 .collect(Collectors.toList());
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.LIBRARIES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.LIBRARY_LIST, allEntries = true)
+    )
     public LibraryDTO createLibrary(CreateLibraryDTO libraryDTO) {
-        System.out.println("Create Library " + libraryDTO.getName() + " " + libraryDTO.getAddress() + " " + libraryDTO.getWorkingHours());
+        log.info("Create Library {} {} {}", libraryDTO.getName(), libraryDTO.getAddress(), libraryDTO.getWorkingHours());
 
         Library library = new Library();
         library.setName(libraryDTO.getName());
@@ -59,6 +75,10 @@ public class LibraryService {
         return convertToDTO(savedLibrary);
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.LIBRARIES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.LIBRARY_LIST, allEntries = true)
+    )
     public LibraryDTO updateLibrary(UUID id, UpdateLibraryDTO libraryDTO) {
         Library library = libraryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Библиотека с id: " + id + " не найдена"));
@@ -77,6 +97,10 @@ public class LibraryService {
         return convertToDTO(savedLibrary);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBRARIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.LIBRARY_LIST, allEntries = true)
+    })
     public void deleteLibrary(UUID id) {
         Library library = libraryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Библиотека с id: " + id + " не найдена"));
@@ -2,17 +2,26 @@ package com.books.services;
 import com.books.config.ApplicationConfig;
 import com.books.entities.Order;
 import com.books.entities.User;
+import com.books.notifications.EmailServiceAdapter;
 import com.books.notifications.Notification;
+import com.books.notifications.NotificationBatcher;
+import com.books.notifications.NotificationDispatcher;
 import com.books.notifications.NotificationFactory;
+import com.books.notifications.SMSServiceAdapter;
 import org.springframework.stereotype.Service;
 
 @Service
 public class NotificationService {
 
     private final ApplicationConfig config;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationBatcher notificationBatcher;
 
-    public NotificationService(ApplicationConfig config) {
+    public NotificationService(ApplicationConfig config, NotificationDispatcher notificationDispatcher,
+                               NotificationBatcher notificationBatcher) {
         this.config = config;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationBatcher = notificationBatcher;
     }
 
     public void sendOrderCreatedNotification(Order order) {
@@ -29,9 +38,11 @@ public class NotificationService {
                 "Заказ создан",
                 message
         );
-        notification.send();
+        notificationDispatcher.dispatch(notification);
     }
 
+    // Просрочки приходят сотнями за один проход OverdueDetectionService, поэтому идут пачками через батчер;
+    // повторы и dead-letter по каждому сообщению выполняет диспетчер
     public void sendOverdueNotification(Order order) {
         User user = order.getUser();
         String message = String.format(
@@ -40,19 +51,21 @@ public class NotificationService {
                 order.getBookInstance().getBook().getTitle()
         );
 
-        Notification emailNotification = NotificationFactory.createEmailNotification(
+        Notification emailNotification = new EmailServiceAdapter(
+                notificationBatcher,
                 user.getEmail(),
                 "Просрочка возврата книги",
                 message
         );
-        emailNotification.send();
+        notificationDispatcher.dispatch(emailNotification);
 
         if (user.getPhone() != null && !user.getPhone().isEmpty()) {
-            Notification smsNotification = NotificationFactory.createSMSNotification(
+            Notification smsNotification = new SMSServiceAdapter(
+                    notificationBatcher,
                     user.getPhone(),
                     "Просрочка возврата книги: " + order.getBookInstance().getBook().getTitle()
             );
-            smsNotification.send();
+            notificationDispatcher.dispatch(smsNotification);
         }
     }
 
@@ -68,6 +81,6 @@ public class NotificationService {
                 user.getEmail(),
                 message
         );
-        notification.send();
+        notificationDispatcher.dispatch(notification);
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.books.services;
 
+import com.books.config.ApplicationConfig;
 import com.books.dto.OrderAuditDTO;
+import com.books.dto.OrderAuditPageDTO;
 import com.books.entities.AuditOperation;
 import com.books.entities.Order;
 import com.books.entities.OrderAudit;
@@ -9,27 +11,49 @@ import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.OrderAuditRepository;
 import com.books.repositories.OrderRepository;
 import com.books.repositories.UserRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class OrderAuditService {
 
+    // Границы периода по умолчанию, если from/to не заданы
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    // Наименьший UUID: позиция "до первой записи" в момент from
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    // Порядок keyset-страницы: created_at, затем id
+    private static final Comparator<OrderAuditDTO> PAGE_ORDER = Comparator.comparing(OrderAuditDTO::getCreatedAt)
+            .thenComparing(OrderAuditDTO::getId, KeysetCursor::compareIds);
+
     private final OrderAuditRepository orderAuditRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final AuditArchiveService auditArchiveService;
+    private final ApplicationConfig config;
 
     public OrderAuditService(OrderAuditRepository orderAuditRepository,
                              OrderRepository orderRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             AuditArchiveService auditArchiveService,
+                             ApplicationConfig config) {
         this.orderAuditRepository = orderAuditRepository;
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
+        this.auditArchiveService = auditArchiveService;
+        this.config = config;
     }
 
     public List<OrderAuditDTO> findAll() {
@@ -38,6 +62,56 @@ public class OrderAuditService {
                 .collect(Collectors.toList());
     }
 
+    // Постраничная выборка аудита за период [from, to) с одним необязательным фильтром.
+    // Если позиция раньше горизонта хранения, страница дополняется записями из архива месяцев
+    @Transactional(readOnly = true)
+    public OrderAuditPageDTO findPage(UUID orderId, UUID userId, AuditOperation operation,
+                                      LocalDateTime from, LocalDateTime to,
+                                      String cursor, Integer size) {
+        int filters = (orderId != null ? 1 : 0) + (userId != null ? 1 : 0) + (operation != null ? 1 : 0);
+        if (filters > 1) {
+            throw new IllegalArgumentException("Можно указать только один фильтр: orderId, userId или operation");
+        }
+        int pageSize = size == null ? config.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > config.getMaxPageSize()) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + config.getMaxPageSize());
+        }
+        Pageable pageable = PageRequest.ofSize(pageSize);
+
+        KeysetCursor position = cursor == null || cursor.isEmpty()
+                ? new KeysetCursor(from != null ? from : MIN_CREATED_AT, MIN_ID)
+                : KeysetCursor.decode(cursor);
+        LocalDateTime upperBound = to != null ? to : MAX_CREATED_AT;
+
+        List<OrderAuditDTO> items;
+        if (orderId != null) {
+            items = orderAuditRepository.findPageByOrderId(orderId, position.getCreatedAt(), position.getId(), upperBound, pageable);
+        } else if (userId != null) {
+            items = orderAuditRepository.findPageByUserId(userId, position.getCreatedAt(), position.getId(), upperBound, pageable);
+        } else if (operation != null) {
+            items = orderAuditRepository.findPageByOperation(operation, position.getCreatedAt(), position.getId(), upperBound, pageable);
+        } else {
+            items = orderAuditRepository.findPage(position.getCreatedAt(), position.getId(), upperBound, pageable);
+        }
+
+        LocalDateTime archiveBoundary = auditArchiveService.getArchiveBoundary();
+        if (position.getCreatedAt().isBefore(archiveBoundary)) {
+            LocalDateTime archiveUpperBound = upperBound.isBefore(archiveBoundary) ? upperBound : archiveBoundary;
+            List<OrderAuditDTO> archived = auditArchiveService.findArchived(position, archiveUpperBound, audit ->
+                    (orderId == null || orderId.equals(audit.getOrderId()))
+                            && (userId == null || userId.equals(audit.getUserId()))
+                            && (operation == null || operation == audit.getOperation()), pageSize);
+            items = merge(archived, items, pageSize);
+        }
+
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            OrderAuditDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderAuditPageDTO(items, nextCursor);
+    }
+
     public OrderAuditDTO findById(UUID id) {
         OrderAudit orderAudit = orderAuditRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Запись аудита с id: " + id + " не найдена"));
@@ -74,6 +148,20 @@ public class OrderAuditService {
                 .collect(Collectors.toList());
     }
 
+    // Слияние двух отсортированных страниц. Месяц, выгруженный в архив, но ещё не удалённый из таблицы,
+    // встречается в обеих, поэтому дубликаты по id отбрасываются
+    private List<OrderAuditDTO> merge(List<OrderAuditDTO> archived, List<OrderAuditDTO> hot, int pageSize) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Set<UUID> seen = new HashSet<>();
+        return Stream.concat(archived.stream(), hot.stream())
+                .filter(audit -> seen.add(audit.getId()))
+                .sorted(PAGE_ORDER)
+                .limit(pageSize)
+                .collect(Collectors.toList());
+    }
+
     private OrderAuditDTO convertToDTO(OrderAudit orderAudit) {
         return new OrderAuditDTO(
                 orderAudit.getId(),
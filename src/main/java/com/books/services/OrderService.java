@@ -2,89 +2,132 @@ package com.books.services;
 
 import com.books.builders.OrderBuilder;
 import com.books.config.ApplicationConfig;
+import com.books.dto.BulkOrderItemDTO;
+import com.books.dto.BulkOrderResultDTO;
+import com.books.dto.CreateAnyCopyOrderDTO;
 import com.books.dto.CreateOrderDTO;
 import com.books.dto.OrderDTO;
+import com.books.dto.OrderPageDTO;
 import com.books.dto.UpdateOrderDTO;
+import com.books.dto.UserOrderCountDTO;
 import com.books.entities.*;
 import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.BookInstanceRepository;
 import com.books.repositories.OrderRepository;
 import com.books.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class OrderService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+
+    private static final List<OrderStatus> ACTIVE_STATUSES =
+            List.of(OrderStatus.CREATED, OrderStatus.READY_FOR_ISSUE, OrderStatus.ISSUED);
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final BookInstanceRepository bookInstanceRepository;
     private final AuditService auditService;
+    private final ReservationExpiryService reservationExpiryService;
+    private final BookAvailabilityIndex bookAvailabilityIndex;
+    private final OrderStatusMetrics orderStatusMetrics;
     private final ApplicationConfig config; // Singleton
 
     public OrderService(OrderRepository orderRepository, UserRepository userRepository,
                         BookInstanceRepository bookInstanceRepository, AuditService auditService,
+                        ReservationExpiryService reservationExpiryService,
+                        BookAvailabilityIndex bookAvailabilityIndex, OrderStatusMetrics orderStatusMetrics,
                         ApplicationConfig config) {
         this.orderRepository = orderRepository;
         this.userRepository = userRepository;
         this.bookInstanceRepository = bookInstanceRepository;
         this.auditService = auditService;
+        this.reservationExpiryService = reservationExpiryService;
+        this.bookAvailabilityIndex = bookAvailabilityIndex;
+        this.orderStatusMetrics = orderStatusMetrics;
         this.config = config;
     }
 
     public List<OrderDTO> findAll() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderRepository.findAllDTOs();
+    }
+
+    // Постраничная выборка заказов по курсору (createdAt, id) без OFFSET
+    @Transactional(readOnly = true)
+    public OrderPageDTO findPage(String cursor, Integer size) {
+        int pageSize = size == null ? config.getDefaultPageSize() : size;
+        if (pageSize < 1 || pageSize > config.getMaxPageSize()) {
+            throw new IllegalArgumentException("Размер страницы должен быть от 1 до " + config.getMaxPageSize());
+        }
+        Pageable pageable = PageRequest.ofSize(pageSize);
+
+        List<OrderDTO> items;
+        if (cursor == null || cursor.isEmpty()) {
+            items = orderRepository.findFirstPage(pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            items = orderRepository.findPageAfter(position.getCreatedAt(), position.getId(), pageable);
+        }
+
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            OrderDTO last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderPageDTO(items, nextCursor);
     }
 
     public OrderDTO findById(UUID id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Заказ с id: " + id + " не найден"));
         return convertToDTO(order);
     }
 
     public List<OrderDTO> findByUserId(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id: " + userId + " не найден"));
-        return orderRepository.findByUser(user).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("Пользователь с id: " + userId + " не найден");
+        }
+        return orderRepository.findDTOsByUserId(userId);
     }
 
     public List<OrderDTO> findByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return orderRepository.findDTOsByStatus(status);
     }
 
     public List<OrderDTO> findActiveByUserId(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id: " + userId + " не найден"));
-        List<OrderStatus> activeStatuses = List.of(OrderStatus.CREATED, OrderStatus.READY_FOR_ISSUE, OrderStatus.ISSUED);
-        return orderRepository.findByUserAndStatusIn(user, activeStatuses).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("Пользователь с id: " + userId + " не найден");
+        }
+        return orderRepository.findDTOsByUserIdAndStatusIn(userId, ACTIVE_STATUSES);
     }
 
     public OrderDTO createOrder(CreateOrderDTO orderDTO) {
-        System.out.println("Create Order for user: " + orderDTO.getUserId() + " and book instance: " + orderDTO.getBookInstanceId());
+        log.info("Create Order for user: {} and book instance: {}", orderDTO.getUserId(), orderDTO.getBookInstanceId());
 
         User user = userRepository.findById(orderDTO.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("Пользователь с id: " + orderDTO.getUserId() + " не найден"));
 
-        BookInstance bookInstance = bookInstanceRepository.findById(orderDTO.getBookInstanceId())
-                .orElseThrow(() -> new EntityNotFoundException("Экземпляр книги с id: " + orderDTO.getBookInstanceId() + " не найден"));
-
-        if (bookInstance.getStatus() != BookInstanceStatus.AVAILABLE) {
-            throw new RuntimeException("Экземпляр книги недоступен для заказа");
-        }
+        BookInstance bookInstance = reserveBookInstance(orderDTO.getBookInstanceId());
 
         Order order = new Order();
         order.setUser(user);
@@ -93,10 +136,9 @@ public class OrderService {
         order.setExpectedReturnDate(orderDTO.getExpectedReturnDate());
         order.setStatus(OrderStatus.CREATED);
 
-        bookInstance.setStatus(BookInstanceStatus.RESERVED);
-        bookInstanceRepository.save(bookInstance);
-
         Order savedOrder = orderRepository.save(order);
+        reservationExpiryService.track(savedOrder.getId(), savedOrder.getReservationDeadline());
+        orderStatusMetrics.transition(null, OrderStatus.CREATED);
 
         auditService.logOrderOperation(user, savedOrder, AuditOperation.ORDER,
                 null, "Order created with status: " + OrderStatus.CREATED);
@@ -106,28 +148,14 @@ public class OrderService {
 
     // НОВЫЙ МЕТОД с Builder Pattern и Singleton
     public OrderDTO createOrderWithBuilder(CreateOrderDTO orderDTO) {
-        System.out.println("Create Order with Builder for user: " + orderDTO.getUserId());
+        log.info("Create Order with Builder for user: {}", orderDTO.getUserId());
 
         User user = userRepository.findById(orderDTO.getUserId())
                 .orElseThrow(() -> new EntityNotFoundException("Пользователь не найден"));
 
-        BookInstance bookInstance = bookInstanceRepository.findById(orderDTO.getBookInstanceId())
-                .orElseThrow(() -> new EntityNotFoundException("Экземпляр книги не найден"));
-
-        // Проверка ограничений из Singleton конфигурации
-        List<Order> activeOrders = orderRepository.findByUserAndStatusIn(
-                user,
-                List.of(OrderStatus.CREATED, OrderStatus.READY_FOR_ISSUE, OrderStatus.ISSUED)
-        );
-//singleton
-        if (activeOrders.size() >= config.getMaxActiveOrdersPerUser()) {
-            throw new RuntimeException("Превышено максимальное количество активных заказов: " +
-                    config.getMaxActiveOrdersPerUser());
-        }
+        checkActiveOrdersLimit(user);
 
-        if (bookInstance.getStatus() != BookInstanceStatus.AVAILABLE) {
-            throw new RuntimeException("Экземпляр книги недоступен для заказа");
-        }
+        BookInstance bookInstance = reserveBookInstance(orderDTO.getBookInstanceId());
 
         // Использование Builder Pattern для создания заказа
         Order order = OrderBuilder.create()
@@ -138,25 +166,124 @@ public class OrderService {
                 .setStatus(OrderStatus.CREATED)
                 .build();
 
+        Order savedOrder = orderRepository.save(order);
+        reservationExpiryService.track(savedOrder.getId(), savedOrder.getReservationDeadline());
+        orderStatusMetrics.transition(null, OrderStatus.CREATED);
+
+        auditService.logOrderOperation(user, savedOrder, AuditOperation.ORDER,
+                null, "Order created with Builder pattern");
+
+        return convertToDTO(savedOrder);
+    }
+
+    // Заказ любого свободного экземпляра книги в библиотеке: параллельные читатели
+    // разбирают разные экземпляры, а не конкурируют за одну строку
+    public OrderDTO createOrderForAnyCopy(CreateAnyCopyOrderDTO orderDTO) {
+        log.info("Create Order for any copy of book: {} in library: {}", orderDTO.getBookId(), orderDTO.getLibraryId());
+
+        User user = userRepository.findById(orderDTO.getUserId())
+                .orElseThrow(() -> new EntityNotFoundException("Пользователь с id: " + orderDTO.getUserId() + " не найден"));
+
+        checkActiveOrdersLimit(user);
+
+        BookInstance bookInstance = bookInstanceRepository.lockFirstAvailable(orderDTO.getBookId(), orderDTO.getLibraryId())
+                .orElseThrow(() -> new RuntimeException("Нет доступных экземпляров книги в библиотеке"));
         bookInstance.setStatus(BookInstanceStatus.RESERVED);
-        bookInstanceRepository.save(bookInstance);
+        bookAvailabilityIndex.statusChanged(bookInstance, BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+
+        Order order = OrderBuilder.create()
+                .setUser(user)
+                .setBookInstance(bookInstance)
+                .setReservationDeadline(LocalDateTime.now().plusDays(config.getReservationPeriodDays()))
+                .setExpectedReturnDate(orderDTO.getExpectedReturnDate())
+                .setStatus(OrderStatus.CREATED)
+                .build();
 
         Order savedOrder = orderRepository.save(order);
+        reservationExpiryService.track(savedOrder.getId(), savedOrder.getReservationDeadline());
+        orderStatusMetrics.transition(null, OrderStatus.CREATED);
 
         auditService.logOrderOperation(user, savedOrder, AuditOperation.ORDER,
-                null, "Order created with Builder pattern");
+                null, "Order created for any available copy");
 
         return convertToDTO(savedOrder);
     }
 
+    // Пакетное создание заказов (бронь для класса, читательского клуба). Пользователи, лимиты активных
+    // заказов и экземпляры проверяются запросами на весь набор, экземпляры блокируются и резервируются
+    // одним условным UPDATE, заказы вставляются JDBC-пакетами (hibernate.jdbc.batch_size).
+    // Ошибка отдельной позиции попадает в её результат и не мешает остальным
+    public BulkOrderResultDTO createOrdersBulk(List<CreateOrderDTO> orderDTOs) {
+        if (orderDTOs == null || orderDTOs.isEmpty() || orderDTOs.size() > config.getMaxBulkOrderSize()) {
+            throw new IllegalArgumentException("Размер пакета должен быть от 1 до " + config.getMaxBulkOrderSize());
+        }
+        log.info("Create {} orders in bulk", orderDTOs.size());
+
+        BulkOrderItemDTO[] items = new BulkOrderItemDTO[orderDTOs.size()];
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> bookInstanceIds = new HashSet<>();
+        for (int i = 0; i < orderDTOs.size(); i++) {
+            CreateOrderDTO orderDTO = orderDTOs.get(i);
+            if (orderDTO == null || orderDTO.getUserId() == null || orderDTO.getBookInstanceId() == null) {
+                items[i] = failedItem(i, orderDTO, "Не указан пользователь или экземпляр книги");
+            } else if (!bookInstanceIds.add(orderDTO.getBookInstanceId())) {
+                items[i] = failedItem(i, orderDTO, "Экземпляр книги указан в пакете повторно");
+            } else {
+                userIds.add(orderDTO.getUserId());
+            }
+        }
+
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<UUID, Long> activeOrders = new HashMap<>();
+        if (!users.isEmpty()) {
+            for (UserOrderCountDTO count : orderRepository.countByUserIdInAndStatusIn(users.keySet(), ACTIVE_STATUSES)) {
+                activeOrders.put(count.getUserId(), count.getCount());
+            }
+        }
+        Map<UUID, BookInstance> bookInstances = bookInstanceIds.isEmpty() ? Map.of()
+                : bookInstanceRepository.lockAllByIdIn(bookInstanceIds).stream()
+                        .collect(Collectors.toMap(BookInstance::getId, Function.identity()));
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < orderDTOs.size(); i++) {
+            if (items[i] != null) {
+                continue;
+            }
+            CreateOrderDTO orderDTO = orderDTOs.get(i);
+            BookInstance bookInstance = bookInstances.get(orderDTO.getBookInstanceId());
+            if (!users.containsKey(orderDTO.getUserId())) {
+                items[i] = failedItem(i, orderDTO, "Пользователь с id: " + orderDTO.getUserId() + " не найден");
+            } else if (bookInstance == null) {
+                items[i] = failedItem(i, orderDTO, "Экземпляр книги с id: " + orderDTO.getBookInstanceId() + " не найден");
+            } else if (bookInstance.getStatus() != BookInstanceStatus.AVAILABLE) {
+                items[i] = failedItem(i, orderDTO, "Экземпляр книги недоступен для заказа");
+            } else if (activeOrders.getOrDefault(orderDTO.getUserId(), 0L) >= config.getMaxActiveOrdersPerUser()) {
+                items[i] = failedItem(i, orderDTO, "Превышено максимальное количество активных заказов: " +
+                        config.getMaxActiveOrdersPerUser());
+            } else {
+                activeOrders.merge(orderDTO.getUserId(), 1L, Long::sum);
+                accepted.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            createAcceptedOrders(orderDTOs, accepted, users, items);
+        }
+
+        int created = (int) Arrays.stream(items).filter(item -> item.getError() == null).count();
+        return new BulkOrderResultDTO(created, items.length - created, Arrays.asList(items));
+    }
+
     public OrderDTO updateOrder(UUID id, UpdateOrderDTO orderDTO) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Заказ с id: " + id + " не найден"));
 
         OrderStatus oldStatus = order.getStatus();
 
         if (orderDTO.getReservationDeadline() != null) {
             order.setReservationDeadline(orderDTO.getReservationDeadline());
+            reservationExpiryService.track(id, orderDTO.getReservationDeadline());
         }
         if (orderDTO.getExpectedReturnDate() != null) {
             order.setExpectedReturnDate(orderDTO.getExpectedReturnDate());
@@ -172,14 +299,17 @@ public class OrderService {
 
             if (orderDTO.getStatus() == OrderStatus.RETURNED || orderDTO.getStatus() == OrderStatus.CANCELLED) {
                 BookInstance bookInstance = order.getBookInstance();
+                BookInstanceStatus oldInstanceStatus = bookInstance.getStatus();
                 bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
                 bookInstanceRepository.save(bookInstance);
+                bookAvailabilityIndex.statusChanged(bookInstance, oldInstanceStatus, BookInstanceStatus.AVAILABLE);
             }
         }
 
         Order savedOrder = orderRepository.save(order);
 
         if (orderDTO.getStatus() != null && orderDTO.getStatus() != oldStatus) {
+            orderStatusMetrics.transition(oldStatus, orderDTO.getStatus());
             auditService.logOrderOperation(order.getUser(), savedOrder, AuditOperation.UPDATE,
                     "Status: " + oldStatus, "Status: " + orderDTO.getStatus());
         }
@@ -201,18 +331,21 @@ public class OrderService {
     }
 
     public void cancelOrder(UUID id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findDetailedById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Заказ с id: " + id + " не найден"));
 
         OrderStatus oldStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
 
         BookInstance bookInstance = order.getBookInstance();
+        BookInstanceStatus oldInstanceStatus = bookInstance.getStatus();
         bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
         bookInstanceRepository.save(bookInstance);
+        bookAvailabilityIndex.statusChanged(bookInstance, oldInstanceStatus, BookInstanceStatus.AVAILABLE);
 
         orderRepository.save(order);
 
+        orderStatusMetrics.transition(oldStatus, OrderStatus.CANCELLED);
         auditService.logOrderOperation(order.getUser(), order, AuditOperation.CANCEL,
                 "Status: " + oldStatus, "Status: " + OrderStatus.CANCELLED);
     }
@@ -223,6 +356,80 @@ public class OrderService {
         orderRepository.delete(order);
     }
 
+    // Строки экземпляров заблокированы в createOrdersBulk, поэтому UPDATE обязан изменить их все
+    private void createAcceptedOrders(List<CreateOrderDTO> orderDTOs, List<Integer> accepted,
+                                      Map<UUID, User> users, BulkOrderItemDTO[] items) {
+        List<UUID> reservedIds = accepted.stream().map(i -> orderDTOs.get(i).getBookInstanceId()).toList();
+        int reserved = bookInstanceRepository.updateStatusIn(reservedIds,
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+        if (reserved != reservedIds.size()) {
+            throw new IllegalStateException("Зарезервировано " + reserved + " экземпляров из " + reservedIds.size());
+        }
+        // Массовый UPDATE очищает контекст: экземпляры перечитываются с книгой и библиотекой одним запросом
+        Map<UUID, BookInstance> bookInstances = bookInstanceRepository.findByIdIn(reservedIds).stream()
+                .collect(Collectors.toMap(BookInstance::getId, Function.identity()));
+
+        List<Order> orders = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            CreateOrderDTO orderDTO = orderDTOs.get(i);
+            BookInstance bookInstance = bookInstances.get(orderDTO.getBookInstanceId());
+            bookAvailabilityIndex.statusChanged(bookInstance, BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+            orders.add(OrderBuilder.create()
+                    .setUser(users.get(orderDTO.getUserId()))
+                    .setBookInstance(bookInstance)
+                    .setReservationDeadline(Objects.requireNonNullElseGet(orderDTO.getReservationDeadline(),
+                            () -> LocalDateTime.now().plusDays(config.getReservationPeriodDays())))
+                    .setExpectedReturnDate(orderDTO.getExpectedReturnDate())
+                    .setStatus(OrderStatus.CREATED)
+                    .build());
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        for (int k = 0; k < savedOrders.size(); k++) {
+            Order savedOrder = savedOrders.get(k);
+            int index = accepted.get(k);
+            reservationExpiryService.track(savedOrder.getId(), savedOrder.getReservationDeadline());
+            orderStatusMetrics.transition(null, OrderStatus.CREATED);
+            auditService.logOrderOperation(savedOrder.getUser(), savedOrder, AuditOperation.ORDER,
+                    null, "Order created in bulk");
+            items[index] = new BulkOrderItemDTO(index, savedOrder.getUser().getId(),
+                    savedOrder.getBookInstance().getId(), convertToDTO(savedOrder), null);
+        }
+    }
+
+    private static BulkOrderItemDTO failedItem(int index, CreateOrderDTO orderDTO, String error) {
+        return orderDTO == null
+                ? new BulkOrderItemDTO(index, null, null, null, error)
+                : new BulkOrderItemDTO(index, orderDTO.getUserId(), orderDTO.getBookInstanceId(), null, error);
+    }
+
+    // Проверка ограничений из Singleton конфигурации
+    private void checkActiveOrdersLimit(User user) {
+        long activeOrders = orderRepository.countByUserAndStatusIn(user, ACTIVE_STATUSES);
+//singleton
+        if (activeOrders >= config.getMaxActiveOrdersPerUser()) {
+            throw new RuntimeException("Превышено максимальное количество активных заказов: " +
+                    config.getMaxActiveOrdersPerUser());
+        }
+    }
+
+    // Резервирование экземпляра одним условным UPDATE (AVAILABLE -> RESERVED).
+    // Из параллельных запросов на один экземпляр строку изменит только первый, остальные получат 0
+    private BookInstance reserveBookInstance(UUID bookInstanceId) {
+        int reserved = bookInstanceRepository.compareAndSetStatus(
+                bookInstanceId, BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+        if (reserved == 0) {
+            if (!bookInstanceRepository.existsById(bookInstanceId)) {
+                throw new EntityNotFoundException("Экземпляр книги с id: " + bookInstanceId + " не найден");
+            }
+            throw new RuntimeException("Экземпляр книги недоступен для заказа");
+        }
+        BookInstance bookInstance = bookInstanceRepository.findById(bookInstanceId)
+                .orElseThrow(() -> new EntityNotFoundException("Экземпляр книги с id: " + bookInstanceId + " не найден"));
+        bookAvailabilityIndex.statusChanged(bookInstance, BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+        return bookInstance;
+    }
+
     private OrderDTO convertToDTO(Order order) {
         return new OrderDTO(
                 order.getId(),
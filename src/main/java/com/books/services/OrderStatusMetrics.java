@@ -0,0 +1,38 @@
+package com.books.services;
+
+import com.books.entities.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Счётчик переходов заказа между статусами (books.orders.transitions{from,to}).
+// Учитывается после коммита, чтобы откаченные изменения не попадали в метрики
+@Component
+public class OrderStatusMetrics {
+
+    public static final String TRANSITIONS = "books.orders.transitions";
+    private static final String NEW_ORDER = "NONE";
+
+    private final MeterRegistry meterRegistry;
+
+    public OrderStatusMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // from == null - заказ только что создан
+    public void transition(OrderStatus from, OrderStatus to) {
+        transitions(from, to, 1);
+    }
+
+    public void transitions(OrderStatus from, OrderStatus to, int count) {
+        if (from == to || count <= 0) {
+            return;
+        }
+        Counter counter = Counter.builder(TRANSITIONS)
+                .description("Переходы заказов между статусами")
+                .tag("from", from == null ? NEW_ORDER : from.name())
+                .tag("to", to.name())
+                .register(meterRegistry);
+        TransactionCallbacks.afterCommit(() -> counter.increment(count));
+    }
+}
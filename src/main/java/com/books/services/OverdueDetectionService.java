@@ -0,0 +1,118 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.entities.AuditOperation;
+import com.books.entities.JobCheckpoint;
+import com.books.entities.Order;
+import com.books.entities.OrderStatus;
+import com.books.repositories.JobCheckpointRepository;
+import com.books.repositories.OrderRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Поиск просроченных выдач: ISSUED-заказы с истёкшим expectedReturnDate обходятся
+// блоками по ключу (expectedReturnDate, id) и переводятся в OVERDUE одним UPDATE на блок.
+// Каждый блок - отдельная транзакция вместе с сохранением позиции, поэтому после сбоя
+// обход продолжается с последнего закоммиченного ключа
+@Service
+public class OverdueDetectionService {
+
+    public static final String JOB_NAME = "overdue-detection";
+    private static final LocalDateTime MIN_KEY_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID MIN_KEY_ID = new UUID(0L, 0L);
+
+    private final OrderRepository orderRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final AuditService auditService;
+    private final NotificationService notificationService;
+    private final OrderStatusMetrics orderStatusMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationConfig config;
+
+    public OverdueDetectionService(OrderRepository orderRepository,
+                                   JobCheckpointRepository checkpointRepository,
+                                   AuditService auditService,
+                                   NotificationService notificationService,
+                                   OrderStatusMetrics orderStatusMetrics,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationConfig config) {
+        this.orderRepository = orderRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.auditService = auditService;
+        this.notificationService = notificationService;
+        this.orderStatusMetrics = orderStatusMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = config;
+    }
+
+    // Ежедневная проверка в 02:00
+    @Scheduled(cron = "0 0 2 * * *")
+    public void detectOverdueOrdersOnSchedule() {
+        detectOverdueOrders(LocalDateTime.now());
+    }
+
+    // Обходит все просроченные выдачи и возвращает число заказов, переведённых в OVERDUE
+    public int detectOverdueOrders(LocalDateTime now) {
+        int total = 0;
+        List<Order> overdue;
+        do {
+            overdue = transactionTemplate.execute(status -> processNextChunk(now));
+            // Уведомления уходят только после коммита блока
+            for (Order order : overdue) {
+                notificationService.sendOverdueNotification(order);
+            }
+            total += overdue.size();
+        } while (!overdue.isEmpty());
+        return total;
+    }
+
+    private List<Order> processNextChunk(LocalDateTime now) {
+        JobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        LocalDateTime afterDate = checkpoint.getLastKeyTime() != null ? checkpoint.getLastKeyTime() : MIN_KEY_TIME;
+        UUID afterId = checkpoint.getLastKeyId() != null ? checkpoint.getLastKeyId() : MIN_KEY_ID;
+
+        List<Order> chunk = orderRepository.findExpiredReturnChunk(OrderStatus.ISSUED, now, afterDate, afterId,
+                PageRequest.ofSize(config.getOverdueChunkSize()));
+        if (chunk.isEmpty()) {
+            // Проход завершён: следующий запуск начинает с начала индекса
+            if (checkpoint.getLastKeyTime() != null) {
+                checkpointRepository.delete(checkpoint);
+            }
+            return List.of();
+        }
+
+        List<UUID> ids = chunk.stream().map(Order::getId).toList();
+        int updated = orderRepository.updateStatusIn(ids, OrderStatus.ISSUED, OrderStatus.OVERDUE);
+        List<Order> overdue = chunk;
+        if (updated < ids.size()) {
+            // Часть заказов успели вернуть между выборкой и обновлением
+            Set<UUID> updatedIds = new HashSet<>(orderRepository.findIdsByIdInAndStatus(ids, OrderStatus.OVERDUE));
+            overdue = chunk.stream().filter(order -> updatedIds.contains(order.getId())).toList();
+        }
+
+        for (Order order : overdue) {
+            order.setStatus(OrderStatus.OVERDUE);
+            auditService.logOrderOperation(order.getUser(), order, AuditOperation.UPDATE,
+                    "Status: " + OrderStatus.ISSUED, "Status: " + OrderStatus.OVERDUE);
+        }
+
+        orderStatusMetrics.transitions(OrderStatus.ISSUED, OrderStatus.OVERDUE, overdue.size());
+
+        Order last = chunk.get(chunk.size() - 1);
+        checkpoint.setLastKeyTime(last.getExpectedReturnDate());
+        checkpoint.setLastKeyId(last.getId());
+        checkpoint.setProcessedCount(checkpoint.getProcessedCount() + overdue.size());
+        checkpointRepository.save(checkpoint);
+        return overdue;
+    }
+}
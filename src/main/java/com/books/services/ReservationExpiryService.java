@@ -0,0 +1,198 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.dto.ReservationDeadlineDTO;
+import com.books.entities.AuditOperation;
+import com.books.entities.BookInstance;
+import com.books.entities.BookInstanceStatus;
+import com.books.entities.Order;
+import com.books.entities.OrderStatus;
+import com.books.repositories.BookInstanceRepository;
+import com.books.repositories.OrderRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Истечение броней: сроки активных заказов держатся в памяти в DelayQueue,
+// фоновый поток просыпается к ближайшему сроку и отменяет истёкшие заказы пачкой,
+// возвращая их экземпляры в AVAILABLE, вместо периодического опроса всей таблицы
+@Service
+public class ReservationExpiryService {
+
+    private static final List<OrderStatus> RESERVED_STATUSES =
+            List.of(OrderStatus.CREATED, OrderStatus.READY_FOR_ISSUE);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final OrderRepository orderRepository;
+    private final BookInstanceRepository bookInstanceRepository;
+    private final AuditService auditService;
+    private final BookAvailabilityIndex bookAvailabilityIndex;
+    private final OrderStatusMetrics orderStatusMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final DelayQueue<ExpiryEntry> queue = new DelayQueue<>();
+    private volatile Thread sweeper;
+
+    public ReservationExpiryService(OrderRepository orderRepository,
+                                    BookInstanceRepository bookInstanceRepository,
+                                    AuditService auditService,
+                                    BookAvailabilityIndex bookAvailabilityIndex,
+                                    OrderStatusMetrics orderStatusMetrics,
+                                    PlatformTransactionManager transactionManager,
+                                    ApplicationConfig config) {
+        this.orderRepository = orderRepository;
+        this.bookInstanceRepository = bookInstanceRepository;
+        this.auditService = auditService;
+        this.bookAvailabilityIndex = bookAvailabilityIndex;
+        this.orderStatusMetrics = orderStatusMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = config.getReservationExpiryBatchSize();
+    }
+
+    // При старте загружает сроки всех активных броней и запускает фоновый поток
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (ReservationDeadlineDTO deadline : orderRepository.findReservationDeadlines(RESERVED_STATUSES)) {
+            track(deadline.getOrderId(), deadline.getReservationDeadline());
+        }
+        Thread thread = new Thread(this::sweepLoop, "reservation-expiry");
+        thread.setDaemon(true);
+        sweeper = thread;
+        thread.start();
+    }
+
+    // Ставит срок брони заказа на отслеживание. Устаревшие записи (срок продлён, заказ выдан
+    // или отменён) не удаляются из очереди: при срабатывании их отсеивает проверка статуса и срока.
+    // В очередь срок попадает только после коммита: иначе уже наступивший срок сработал бы
+    // раньше, чем заказ виден в БД, и запись была бы потеряна до перезапуска
+    public void track(UUID orderId, LocalDateTime reservationDeadline) {
+        if (orderId == null || reservationDeadline == null) {
+            return;
+        }
+        ExpiryEntry entry = new ExpiryEntry(orderId, reservationDeadline);
+        TransactionCallbacks.afterCommit(() -> queue.put(entry));
+    }
+
+    public int getTrackedCount() {
+        return queue.size();
+    }
+
+    // Отменяет все брони, срок которых уже наступил, и возвращает число отменённых заказов
+    public int expireDue() {
+        int total = 0;
+        List<ExpiryEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            total += expireBatch(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread thread = sweeper;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void sweepLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<ExpiryEntry> batch = new ArrayList<>(batchSize);
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                expireBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private int expireBatch(List<ExpiryEntry> batch) {
+        Set<UUID> unique = new LinkedHashSet<>();
+        for (ExpiryEntry entry : batch) {
+            unique.add(entry.orderId);
+        }
+        List<UUID> ids = new ArrayList<>(unique);
+        try {
+            Integer cancelled = transactionTemplate.execute(status -> cancelExpired(ids, LocalDateTime.now()));
+            return cancelled == null ? 0 : cancelled;
+        } catch (RuntimeException e) {
+            // БД недоступна - пробуем ещё раз позже, брони не теряются
+            LocalDateTime retryAt = LocalDateTime.now().plus(RETRY_DELAY);
+            for (UUID id : ids) {
+                track(id, retryAt);
+            }
+            return 0;
+        }
+    }
+
+    private int cancelExpired(List<UUID> ids, LocalDateTime now) {
+        List<Order> expired = orderRepository.findExpiredReservations(ids, RESERVED_STATUSES, now);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<UUID> expiredIds = expired.stream().map(Order::getId).toList();
+        int cancelled = orderRepository.cancelExpiredReservations(expiredIds, RESERVED_STATUSES, now);
+        if (cancelled < expiredIds.size()) {
+            // Часть заказов успели выдать или отменить между выборкой и обновлением
+            Set<UUID> cancelledIds = new HashSet<>(orderRepository.findIdsByIdInAndStatus(expiredIds, OrderStatus.CANCELLED));
+            expired = expired.stream().filter(order -> cancelledIds.contains(order.getId())).toList();
+        }
+
+        List<BookInstance> instances = expired.stream().map(Order::getBookInstance).distinct().toList();
+        List<UUID> instanceIds = instances.stream().map(BookInstance::getId).toList();
+        bookInstanceRepository.updateStatusIn(instanceIds, BookInstanceStatus.RESERVED, BookInstanceStatus.AVAILABLE);
+        // Массовый UPDATE меняет только строки в RESERVED - так же отбираются и изменения счётчиков
+        for (BookInstance instance : instances) {
+            if (instance.getStatus() == BookInstanceStatus.RESERVED) {
+                bookAvailabilityIndex.statusChanged(instance, BookInstanceStatus.RESERVED, BookInstanceStatus.AVAILABLE);
+            }
+        }
+
+        for (Order order : expired) {
+            OrderStatus oldStatus = order.getStatus();
+            order.setStatus(OrderStatus.CANCELLED);
+            orderStatusMetrics.transition(oldStatus, OrderStatus.CANCELLED);
+            auditService.logOrderOperation(order.getUser(), order, AuditOperation.CANCEL,
+                    "Status: " + oldStatus, "Status: " + OrderStatus.CANCELLED + " (reservation expired)");
+        }
+        return cancelled;
+    }
+
+    private static class ExpiryEntry implements Delayed {
+        private final UUID orderId;
+        private final LocalDateTime deadline;
+
+        ExpiryEntry(UUID orderId, LocalDateTime deadline) {
+            this.orderId = orderId;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(LocalDateTime.now(), deadline));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return deadline.compareTo(((ExpiryEntry) other).deadline);
+        }
+    }
+}
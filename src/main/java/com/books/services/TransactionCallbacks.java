@@ -0,0 +1,25 @@
+package com.books.services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Действия над состоянием в памяти (индексы, счётчики, очереди), которые должны видеть только
+// закоммиченные данные: откат транзакции не оставит их рассинхронизированными с БД
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {}
+
+    // Выполняет действие после коммита текущей транзакции, а вне транзакции - сразу
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -10,8 +10,11 @@ import com.books.entities.UserRole;
 import com.books.entities.UserStatus;
 import com.books.exceptions.EntityNotFoundException;
 import com.books.notifications.Notification;
+import com.books.notifications.NotificationDispatcher;
 import com.books.notifications.NotificationFactory;
 import com.books.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,12 +26,17 @@ import java.util.stream.Collectors;
 @Transactional
 public class UserService {
 
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
     private final ApplicationConfig config;
+    private final NotificationDispatcher notificationDispatcher;
 
-    public UserService(UserRepository userRepository, ApplicationConfig config) {
+    public UserService(UserRepository userRepository, ApplicationConfig config,
+                       NotificationDispatcher notificationDispatcher) {
         this.userRepository = userRepository;
         this.config = config; // Singleton injection
+        this.notificationDispatcher = notificationDispatcher;
     }
 
     public List<UserDTO> findAll() {
@@ -50,7 +58,7 @@ public class UserService {
     }
 
     public UserDTO createUser(CreateUserDTO userDTO) {
-        System.out.println("Create User " + userDTO.getFullName() + " " + userDTO.getEmail() + " " + userDTO.getPhone());
+        log.info("Create User {} {} {}", userDTO.getFullName(), userDTO.getEmail(), userDTO.getPhone());
 
         if (userRepository.existsByEmail(userDTO.getEmail())) {
             throw new RuntimeException("Пользователь с email: " + userDTO.getEmail() + " уже существует");
@@ -69,7 +77,7 @@ public class UserService {
     }
 
     public UserDTO createUserWithBuilder(String fullName, String email, String phone, String password) {
-        System.out.println("Create User with Builder: " + fullName + " " + email);
+        log.info("Create User with Builder: {} {}", fullName, email);
 
         if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Пользователь с email: " + email + " уже существует");
@@ -93,14 +101,14 @@ public class UserService {
                 "Добро пожаловать в " + config.getLibraryName() + "!",
                 "Уважаемый(ая) " + fullName + "! Вы успешно зарегистрированы в системе."
         );
-        welcomeNotification.send();
+        notificationDispatcher.dispatch(welcomeNotification);
 
         return convertToDTO(savedUser);
     }
 
     // НОВЫЙ МЕТОД для создания библиотекаря с Builder
     public UserDTO createLibrarian(String fullName, String email, String phone, String password) {
-        System.out.println("Create Librarian with Builder: " + fullName);
+        log.info("Create Librarian with Builder: {}", fullName);
 
         if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Пользователь с email: " + email + " уже существует");
@@ -123,7 +131,7 @@ public class UserService {
                 "Регистрация библиотекаря",
                 "Уважаемый(ая) " + fullName + "! Вы зарегистрированы как библиотекарь."
         );
-        notification.send();
+        notificationDispatcher.dispatch(notification);
 
         return convertToDTO(savedLibrarian);
     }
@@ -3,8 +3,13 @@ package com.books.template;
 import com.books.entities.Order;
 import com.books.entities.OrderStatus;
 import com.books.entities.BookInstanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class OrderCreationProcessor extends OrderProcessingTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderCreationProcessor.class);
+
     @Override
     protected BookInstanceStatus getTargetBookStatus() {
         return BookInstanceStatus.RESERVED;
@@ -18,11 +23,11 @@ public class OrderCreationProcessor extends OrderProcessingTemplate {
     @Override
     protected void updateOrderStatus(Order order) {
         order.setStatus(OrderStatus.CREATED);
-        System.out.println("Статус заказа изменен на: CREATED");
+        log.debug("Статус заказа изменен на: CREATED");
     }
 
     @Override
     protected void notifyUser(Order order) {
-        System.out.println("Уведомление: Ваш заказ создан и ожидает обработки");
+        log.debug("Уведомление: Ваш заказ создан и ожидает обработки");
     }
 }
\ No newline at end of file
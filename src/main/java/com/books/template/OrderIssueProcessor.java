@@ -3,9 +3,14 @@ package com.books.template;
 import com.books.entities.Order;
 import com.books.entities.OrderStatus;
 import com.books.entities.BookInstanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 
 public class OrderIssueProcessor extends OrderProcessingTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIssueProcessor.class);
+
     @Override
     protected BookInstanceStatus getTargetBookStatus() {
         return BookInstanceStatus.ISSUED;
@@ -20,16 +25,12 @@ public class OrderIssueProcessor extends OrderProcessingTemplate {
     protected void updateOrderStatus(Order order) {
         order.setStatus(OrderStatus.ISSUED);
         order.setActualIssueDate(LocalDateTime.now());
-        System.out.println("🔄 Статус заказа изменен на: ISSUED");
+        log.debug("Статус заказа изменен на: ISSUED");
     }
 
     @Override
     protected void notifyUser(Order order) {
-        String message = String.format(
-                "Книга '%s' выдана. Вернуть до: %s",
-                order.getBookInstance().getBook().getTitle(),
-                order.getExpectedReturnDate()
-        );
-        System.out.println("📨 Уведомление: " + message);
+        log.debug("Уведомление: Книга '{}' выдана. Вернуть до: {}",
+                order.getBookInstance().getBook().getTitle(), order.getExpectedReturnDate());
     }
 }
\ No newline at end of file
@@ -4,9 +4,13 @@ import com.books.entities.Order;
 import com.books.entities.OrderStatus;
 import com.books.entities.BookInstance;
 import com.books.entities.BookInstanceStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public abstract class OrderProcessingTemplate {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderProcessingTemplate.class);
+
     public final void processOrder(Order order) {
         validateOrder(order);
         updateBookInstanceStatus(order);
@@ -22,18 +26,17 @@ public abstract class OrderProcessingTemplate {
         if (order.getBookInstance() == null) {
             throw new IllegalArgumentException("Заказ должен иметь экземпляр книги");
         }
-        System.out.println("Валидация заказа пройдена");
+        log.debug("Валидация заказа пройдена");
     }
 
     protected void updateBookInstanceStatus(Order order) {
         BookInstance bookInstance = order.getBookInstance();
         bookInstance.setStatus(getTargetBookStatus());
-        System.out.println("Статус экземпляра книги изменен на: " + getTargetBookStatus());
+        log.debug("Статус экземпляра книги изменен на: {}", getTargetBookStatus());
     }
 
     protected void logProcessing(Order order) {
-        System.out.println("Обработка заказа #" + order.getId() +
-                " завершена. Новый статус: " + getTargetOrderStatus());
+        log.info("Обработка заказа #{} завершена. Новый статус: {}", order.getId(), getTargetOrderStatus());
     }
 
     protected abstract BookInstanceStatus getTargetBookStatus();
@@ -4,9 +4,14 @@ import com.books.entities.Order;
 import com.books.entities.OrderStatus;
 import com.books.entities.BookInstanceStatus;
 import com.books.strategy.FineCalculationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 
 public class OrderReturnProcessor extends OrderProcessingTemplate {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderReturnProcessor.class);
+
     private final FineCalculationStrategy fineStrategy;
 
     public OrderReturnProcessor(FineCalculationStrategy fineStrategy) {
@@ -35,14 +40,14 @@ public class OrderReturnProcessor extends OrderProcessingTemplate {
         );
 
         if (fine > 0) {
-            System.out.println("Рассчитан штраф: " + fine + " руб.");
+            log.info("Заказ #{}: рассчитан штраф {} руб.", order.getId(), fine);
         }
 
-        System.out.println("Статус заказа изменен на: RETURNED");
+        log.debug("Статус заказа изменен на: RETURNED");
     }
 
     @Override
     protected void notifyUser(Order order) {
-        System.out.println("Уведомление: Книга возвращена в библиотеку");
+        log.debug("Уведомление: Книга возвращена в библиотеку");
     }
 }
\ No newline at end of file
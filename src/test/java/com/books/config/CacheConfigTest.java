@@ -0,0 +1,196 @@
+package com.books.config;
+
+import com.books.dto.BookDTO;
+import com.books.dto.CacheStatsDTO;
+import com.books.dto.LibraryDTO;
+import com.books.dto.UpdateBookDTO;
+import com.books.dto.UpdateLibraryDTO;
+import com.books.entities.Book;
+import com.books.entities.Library;
+import com.books.repositories.BookRepository;
+import com.books.repositories.LibraryRepository;
+import com.books.services.BookAutocompleteIndex;
+import com.books.services.BookSearchIndex;
+import com.books.services.BookService;
+import com.books.services.CacheStatsService;
+import com.books.services.LibraryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, ApplicationConfig.class, BookService.class,
+        LibraryService.class, CacheStatsService.class})
+class CacheConfigTest {
+
+    @MockitoBean
+    private BookRepository bookRepository;
+
+    @MockitoBean
+    private LibraryRepository libraryRepository;
+
+    @MockitoBean
+    private BookSearchIndex bookSearchIndex;
+
+    @MockitoBean
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    private Book createTestBook() {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle("Test Book");
+        book.setAuthor("Test Author");
+        book.setPublicationYear(2023);
+        return book;
+    }
+
+    private Library createTestLibrary() {
+        Library library = new Library();
+        library.setId(UUID.randomUUID());
+        library.setName("Central Library");
+        library.setAddress("Main St 1");
+        library.setWorkingHours("9-18");
+        return library;
+    }
+
+    @Test
+    void Should_ReadBookFromCache_When_RequestedTwice() {
+        // Arrange
+        Book book = createTestBook();
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+
+        // Act
+        BookDTO first = bookService.findById(book.getId());
+        BookDTO second = bookService.findById(book.getId());
+
+        // Assert
+        assertEquals(first.getTitle(), second.getTitle());
+        verify(bookRepository, times(1)).findById(book.getId());
+    }
+
+    @Test
+    void Should_RefreshCachedBook_When_BookUpdated() {
+        // Arrange
+        Book book = createTestBook();
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        bookService.findById(book.getId());
+
+        UpdateBookDTO update = new UpdateBookDTO();
+        update.setTitle("Updated Book");
+
+        // Act
+        bookService.updateBook(book.getId(), update);
+        BookDTO result = bookService.findById(book.getId());
+
+        // Assert
+        assertEquals("Updated Book", result.getTitle());
+        // первый findById и чтение внутри updateBook; повторное чтение обслужено кэшем
+        verify(bookRepository, times(2)).findById(book.getId());
+    }
+
+    @Test
+    void Should_EvictCachedBook_When_BookDeleted() {
+        // Arrange
+        Book book = createTestBook();
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+        bookService.findById(book.getId());
+
+        // Act
+        bookService.deleteBook(book.getId());
+
+        // Assert
+        assertNull(cacheManager.getCache(CacheConfig.BOOKS).get(book.getId()));
+    }
+
+    @Test
+    void Should_ReadLibrariesFromCache_When_RequestedTwice() {
+        // Arrange
+        Library library = createTestLibrary();
+        when(libraryRepository.findAll()).thenReturn(List.of(library));
+        when(libraryRepository.findById(library.getId())).thenReturn(Optional.of(library));
+
+        // Act
+        libraryService.findAll();
+        List<LibraryDTO> all = libraryService.findAll();
+        libraryService.findById(library.getId());
+        libraryService.findById(library.getId());
+
+        // Assert
+        assertEquals(1, all.size());
+        verify(libraryRepository, times(1)).findAll();
+        verify(libraryRepository, times(1)).findById(library.getId());
+    }
+
+    @Test
+    void Should_EvictLibraryList_When_LibraryUpdated() {
+        // Arrange
+        Library library = createTestLibrary();
+        when(libraryRepository.findAll()).thenReturn(List.of(library));
+        when(libraryRepository.findById(library.getId())).thenReturn(Optional.of(library));
+        when(libraryRepository.save(any(Library.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        libraryService.findAll();
+
+        UpdateLibraryDTO update = new UpdateLibraryDTO();
+        update.setName("Renamed Library");
+
+        // Act
+        libraryService.updateLibrary(library.getId(), update);
+        List<LibraryDTO> all = libraryService.findAll();
+        LibraryDTO cached = libraryService.findById(library.getId());
+
+        // Assert
+        assertEquals("Renamed Library", all.get(0).getName());
+        assertEquals("Renamed Library", cached.getName());
+        verify(libraryRepository, times(2)).findAll();
+        verify(libraryRepository, times(1)).findById(library.getId());
+    }
+
+    @Test
+    void Should_ReportHitsAndMisses_When_StatsRequested() {
+        // Arrange
+        Book book = createTestBook();
+        when(bookRepository.findById(book.getId())).thenReturn(Optional.of(book));
+
+        // Act
+        bookService.findById(book.getId());
+        bookService.findById(book.getId());
+        bookService.findById(book.getId());
+        CacheStatsDTO stats = cacheStatsService.getStats().stream()
+                .filter(s -> s.getName().equals(CacheConfig.BOOKS))
+                .findFirst()
+                .orElseThrow();
+
+        // Assert
+        assertTrue(stats.getHitCount() >= 2);
+        assertTrue(stats.getMissCount() >= 1);
+        assertEquals(1, stats.getSize());
+    }
+}
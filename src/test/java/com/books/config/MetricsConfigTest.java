@@ -0,0 +1,80 @@
+package com.books.config;
+
+import com.books.entities.Library;
+import com.books.exceptions.EntityNotFoundException;
+import com.books.repositories.LibraryRepository;
+import com.books.services.LibraryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({MetricsConfig.class, MetricsConfigTest.RegistryConfig.class, LibraryService.class})
+class MetricsConfigTest {
+
+    @Configuration
+    static class RegistryConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockitoBean
+    private LibraryRepository libraryRepository;
+
+    @Autowired
+    private LibraryService libraryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void Should_TimeServiceCall_When_PublicMethodInvoked() {
+        // Arrange
+        UUID libraryId = UUID.randomUUID();
+        Library library = new Library();
+        library.setId(libraryId);
+        library.setName("Центральная");
+        when(libraryRepository.findById(libraryId)).thenReturn(Optional.of(library));
+
+        // Act
+        libraryService.findById(libraryId);
+        libraryService.findById(libraryId);
+
+        // Assert
+        assertTrue(AopUtils.isAopProxy(libraryService));
+        Timer timer = meterRegistry.get(MetricsConfig.SERVICE_CALLS)
+                .tags("class", "LibraryService", "method", "findById", "exception", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void Should_TagExceptionName_When_ServiceMethodThrows() {
+        // Arrange
+        UUID libraryId = UUID.randomUUID();
+        when(libraryRepository.findById(libraryId)).thenReturn(Optional.empty());
+
+        // Act
+        assertThrows(EntityNotFoundException.class, () -> libraryService.findById(libraryId));
+
+        // Assert
+        Timer timer = meterRegistry.get(MetricsConfig.SERVICE_CALLS)
+                .tags("method", "findById", "exception", "EntityNotFoundException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
@@ -1,12 +1,16 @@
 package com.books.controllers;
 
 import com.books.dto.BookDTO;
+import com.books.dto.BookSearchCriteria;
+import com.books.dto.BookSearchPageDTO;
+import com.books.dto.BookSuggestionDTO;
 import com.books.dto.CreateBookDTO;
 import com.books.dto.UpdateBookDTO;
 import com.books.services.BookService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -71,36 +75,46 @@ class BookControllerTest {
     }
 
     @Test
-    void getAllBooks_WhenNoFilters_ShouldReturnAllBooks() {
+    void getAllBooks_WhenNoFilters_ShouldReturnFirstPageWithTotal() {
         // Given
         List<BookDTO> expectedBooks = Arrays.asList(sampleBook, createSampleBookDTO(UUID.randomUUID()));
-        when(bookService.findAll()).thenReturn(expectedBooks);
+        when(bookService.searchBooks(any(BookSearchCriteria.class), any(), any(), any(), any()))
+                .thenReturn(new BookSearchPageDTO(expectedBooks, 0, 50, 120));
 
         // When
-        ResponseEntity<List<BookDTO>> response = bookController.getAllBooks(null, null, null);
+        ResponseEntity<List<BookDTO>> response = bookController.getAllBooks(
+                null, null, null, null, null, null, null, null, null, null, null);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedBooks, response.getBody());
-        verify(bookService).findAll();
-        verify(bookService, never()).searchBooks(any(), any(), any());
+        assertEquals("120", response.getHeaders().getFirst("X-Total-Count"));
+        verify(bookService, never()).findAll();
     }
 
     @Test
-    void getAllBooks_WhenTitleFilterProvided_ShouldReturnFilteredBooks() {
+    void getAllBooks_WhenSeveralFiltersProvided_ShouldPassThemTogether() {
         // Given
         String title = "Test";
+        UUID libraryId = UUID.randomUUID();
         List<BookDTO> expectedBooks = Collections.singletonList(sampleBook);
-        when(bookService.searchBooks(eq(title), any(), any())).thenReturn(expectedBooks);
+        ArgumentCaptor<BookSearchCriteria> criteria = ArgumentCaptor.forClass(BookSearchCriteria.class);
+        when(bookService.searchBooks(criteria.capture(), eq(1), eq(20), eq("author"), eq("desc")))
+                .thenReturn(new BookSearchPageDTO(expectedBooks, 1, 20, 21));
 
         // When
-        ResponseEntity<List<BookDTO>> response = bookController.getAllBooks(title, null, null);
+        ResponseEntity<List<BookDTO>> response = bookController.getAllBooks(
+                title, "Author", 2023, null, null, libraryId, true, 1, 20, "author", "desc");
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(expectedBooks, response.getBody());
-        verify(bookService).searchBooks(title, null, null);
-        verify(bookService, never()).findAll();
+        assertEquals(title, criteria.getValue().getTitle());
+        assertEquals("Author", criteria.getValue().getAuthor());
+        assertEquals(2023, criteria.getValue().getYearFrom());
+        assertEquals(2023, criteria.getValue().getYearTo());
+        assertEquals(libraryId, criteria.getValue().getLibraryId());
+        assertTrue(criteria.getValue().getAvailable());
     }
 
     @Test
@@ -205,4 +219,34 @@ class BookControllerTest {
         assertNull(response.getBody());
         verify(bookService).deleteBook(bookId);
     }
-}
\ No newline at end of file
+
+    @Test
+    void fullTextSearch_WithQuery_ShouldReturnRankedPage() {
+        // Given
+        BookSearchPageDTO page = new BookSearchPageDTO(List.of(sampleBook), 0, 20, 1);
+        when(bookService.fullTextSearch("test book", 0, 20)).thenReturn(page);
+
+        // When
+        ResponseEntity<BookSearchPageDTO> response = bookController.fullTextSearch("test book", 0, 20);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(page, response.getBody());
+        verify(bookService).fullTextSearch("test book", 0, 20);
+    }
+
+    @Test
+    void autocomplete_WithPrefix_ShouldReturnSuggestions() {
+        // Given
+        List<BookSuggestionDTO> suggestions = List.of(new BookSuggestionDTO("Test Book", "TITLE", 1));
+        when(bookService.autocomplete("tes", 5)).thenReturn(suggestions);
+
+        // When
+        ResponseEntity<List<BookSuggestionDTO>> response = bookController.autocomplete("tes", 5);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(suggestions, response.getBody());
+        verify(bookService).autocomplete("tes", 5);
+    }
+}
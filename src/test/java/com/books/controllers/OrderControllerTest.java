@@ -1,19 +1,28 @@
 package com.books.controllers;
 
+import com.books.dto.BulkOrderItemDTO;
+import com.books.dto.BulkOrderResultDTO;
+import com.books.dto.CreateAnyCopyOrderDTO;
 import com.books.dto.CreateOrderDTO;
 import com.books.dto.OrderDTO;
+import com.books.dto.OrderPageDTO;
 import com.books.dto.UpdateOrderDTO;
 import com.books.entities.OrderStatus;
 import com.books.services.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -22,7 +31,9 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +42,9 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks
     private OrderController orderController;
 
@@ -87,21 +101,46 @@ class OrderControllerTest {
     }
 
     @Test
-    void getAllOrders_ShouldReturnAllOrders() {
+    void getAllOrders_ShouldReturnFirstPage() {
         // Given
         List<OrderDTO> expectedOrders = Arrays.asList(
                 sampleOrder,
                 createSampleOrderDTO(UUID.randomUUID(), userId, bookInstanceId)
         );
-        when(orderService.findAll()).thenReturn(expectedOrders);
+        OrderPageDTO expectedPage = new OrderPageDTO(expectedOrders, "next");
+        when(orderService.findPage(null, 2)).thenReturn(expectedPage);
 
         // When
-        ResponseEntity<List<OrderDTO>> response = orderController.getAllOrders();
+        ResponseEntity<OrderPageDTO> response = orderController.getAllOrders(null, 2);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(expectedOrders, response.getBody());
-        verify(orderService).findAll();
+        assertEquals(expectedOrders, response.getBody().getItems());
+        assertEquals("next", response.getBody().getNextCursor());
+        verify(orderService).findPage(null, 2);
+    }
+
+    @Test
+    void exportOrders_ShouldWriteAllPagesAsNdjson() throws Exception {
+        // Given
+        OrderDTO secondOrder = createSampleOrderDTO(UUID.randomUUID(), userId, bookInstanceId);
+        when(orderService.findPage(isNull(), anyInt()))
+                .thenReturn(new OrderPageDTO(List.of(sampleOrder), "cursor-1"));
+        when(orderService.findPage(eq("cursor-1"), anyInt()))
+                .thenReturn(new OrderPageDTO(List.of(secondOrder), null));
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = orderController.exportOrders();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains(orderId.toString()));
+        assertTrue(lines[1].contains(secondOrder.getId().toString()));
+        verify(orderService, times(2)).findPage(any(), anyInt());
     }
 
     @Test
@@ -178,6 +217,40 @@ class OrderControllerTest {
         verify(orderService).createOrder(any(CreateOrderDTO.class));
     }
 
+    @Test
+    void createOrdersBulk_WithMixedItems_ShouldReturnPerItemResults() {
+        // Given
+        List<CreateOrderDTO> request = Arrays.asList(createOrderDTO, createSampleCreateOrderDTO(userId, bookInstanceId));
+        BulkOrderResultDTO expectedResult = new BulkOrderResultDTO(1, 1, Arrays.asList(
+                new BulkOrderItemDTO(0, userId, bookInstanceId, sampleOrder, null),
+                new BulkOrderItemDTO(1, userId, bookInstanceId, null, "Экземпляр книги указан в пакете повторно")));
+        when(orderService.createOrdersBulk(request)).thenReturn(expectedResult);
+
+        // When
+        ResponseEntity<BulkOrderResultDTO> response = orderController.createOrdersBulk(request);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expectedResult, response.getBody());
+        verify(orderService).createOrdersBulk(request);
+    }
+
+    @Test
+    void createOrderForAnyCopy_WithValidData_ShouldReturnCreatedOrder() {
+        // Given
+        CreateAnyCopyOrderDTO anyCopyDTO = new CreateAnyCopyOrderDTO(userId, UUID.randomUUID(),
+                UUID.randomUUID(), LocalDateTime.now().plusDays(14));
+        when(orderService.createOrderForAnyCopy(anyCopyDTO)).thenReturn(sampleOrder);
+
+        // When
+        ResponseEntity<OrderDTO> response = orderController.createOrderForAnyCopy(anyCopyDTO);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(sampleOrder, response.getBody());
+        verify(orderService).createOrderForAnyCopy(anyCopyDTO);
+    }
+
     @Test
     void updateOrder_WithValidData_ShouldReturnUpdatedOrder() {
         // Given
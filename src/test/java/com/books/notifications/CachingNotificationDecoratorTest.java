@@ -0,0 +1,175 @@
+package com.books.notifications;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingNotificationDecoratorTest {
+
+    @Mock
+    private Notification notification;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDedupCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new NotificationDedupCache(2, Duration.ofMinutes(10), nanos::get, meterRegistry);
+    }
+
+    private void stub(Notification target, String recipient, String message) {
+        lenient().when(target.getType()).thenReturn("EMAIL");
+        lenient().when(target.getRecipient()).thenReturn(recipient);
+        lenient().when(target.getMessage()).thenReturn(message);
+    }
+
+    @Test
+    void Should_SendOnce_When_SameMessageToSameRecipient() {
+        // Arrange
+        stub(notification, "reader@example.com", "Заказ создан");
+
+        // Act
+        new CachingNotificationDecorator(notification, cache).send();
+        new CachingNotificationDecorator(notification, cache).send();
+
+        // Assert
+        verify(notification, times(1)).send();
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void Should_PublishHitsAndMisses_When_DuplicateSuppressed() {
+        // Arrange
+        stub(notification, "reader@example.com", "Заказ создан");
+
+        // Act
+        new CachingNotificationDecorator(notification, cache).send();
+        new CachingNotificationDecorator(notification, cache).send();
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", NotificationDedupCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", NotificationDedupCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", NotificationDedupCache.CACHE_NAME)
+                .gauge().value());
+    }
+
+    @Test
+    void Should_ReleaseKey_When_AsyncSendFails() {
+        // Arrange
+        stub(notification, "reader@example.com", "Заказ создан");
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        when(notification.sendAsync()).thenReturn(result);
+        CompletableFuture<Void> sent = new CachingNotificationDecorator(notification, cache).sendAsync();
+
+        // Act
+        result.completeExceptionally(new RuntimeException("Пачка отклонена"));
+
+        // Assert: окончательная ошибка освобождает ключ, и следующее уведомление снова отправляется
+        assertTrue(sent.isCompletedExceptionally());
+        assertEquals(0, cache.size());
+        new CachingNotificationDecorator(notification, cache).sendAsync();
+        verify(notification, times(2)).sendAsync();
+    }
+
+    @Test
+    void Should_SendToEachRecipient_When_SameMessageToDifferentRecipients() {
+        // Arrange
+        Notification other = mock(Notification.class);
+        stub(notification, "first@example.com", "Заказ создан");
+        stub(other, "second@example.com", "Заказ создан");
+
+        // Act
+        new CachingNotificationDecorator(notification, cache).send();
+        new CachingNotificationDecorator(other, cache).send();
+
+        // Assert
+        verify(notification).send();
+        verify(other).send();
+    }
+
+    @Test
+    void Should_SendAgain_When_EntryExpired() {
+        // Arrange
+        stub(notification, "reader@example.com", "Заказ создан");
+        new CachingNotificationDecorator(notification, cache).send();
+
+        // Act
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        new CachingNotificationDecorator(notification, cache).send();
+
+        // Assert
+        verify(notification, times(2)).send();
+    }
+
+    @Test
+    void Should_ReleaseKey_When_SendFails() {
+        // Arrange
+        stub(notification, "reader@example.com", "Заказ создан");
+        doThrow(new RuntimeException("SMTP недоступен")).doNothing().when(notification).send();
+
+        // Act
+        assertThrows(RuntimeException.class,
+                () -> new CachingNotificationDecorator(notification, cache).send());
+        new CachingNotificationDecorator(notification, cache).send();
+
+        // Assert
+        verify(notification, times(2)).send();
+    }
+
+    @Test
+    void Should_EvictEntries_When_SizeLimitExceeded() {
+        // Arrange & Act
+        for (int i = 0; i < 10; i++) {
+            Notification n = mock(Notification.class);
+            stub(n, "reader" + i + "@example.com", "Заказ создан");
+            new CachingNotificationDecorator(n, cache).send();
+        }
+
+        // Assert
+        assertTrue(cache.size() <= 2);
+        assertTrue(cache.getEvictionCount() >= 8);
+    }
+
+    @Test
+    void Should_SendOnce_When_ConcurrentDuplicates() throws InterruptedException {
+        // Arrange
+        stub(notification, "reader@example.com", "Заказ создан");
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                start.await();
+                new CachingNotificationDecorator(notification, cache).send();
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        verify(notification, times(1)).send();
+    }
+}
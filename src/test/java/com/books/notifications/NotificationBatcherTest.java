@@ -0,0 +1,169 @@
+package com.books.notifications;
+
+import com.books.config.ApplicationConfig;
+import com.books.external.EmailMessage;
+import com.books.external.RecordingEmailService;
+import com.books.external.RecordingSMSService;
+import com.books.external.SmsMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatcherTest {
+
+    @Mock
+    private ApplicationConfig config;
+
+    private RecordingEmailService emailService;
+    private RecordingSMSService smsService;
+    private NotificationBatcher batcher;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        emailService = new RecordingEmailService();
+        smsService = new RecordingSMSService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    private NotificationBatcher createBatcher(int batchSize, long windowMillis) {
+        when(config.getNotificationBatchSize()).thenReturn(batchSize);
+        when(config.getNotificationBatchWindowMillis()).thenReturn(windowMillis);
+        batcher = new NotificationBatcher(emailService, smsService, config, meterRegistry);
+        return batcher;
+    }
+
+    @Test
+    void Should_SendOneCallPerBatch_When_BatchSizeReached() {
+        // Arrange
+        createBatcher(100, 60_000);
+
+        // Act
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            results.add(new EmailServiceAdapter(batcher, "reader" + i + "@example.com", "Просрочка", "Верните книгу").sendAsync());
+        }
+
+        // Assert
+        assertTrue(results.stream().allMatch(result -> result.isDone() && !result.isCompletedExceptionally()));
+        assertEquals(10, emailService.getCallCount());
+        assertEquals(1000, emailService.getSentCount());
+        assertEquals(0, batcher.getPendingCount());
+        assertEquals(10.0, batchCount("email", "batch_sent"));
+        assertEquals(1000.0, batchCount("email", "sent"));
+    }
+
+    @Test
+    void Should_GroupPerChannel_When_EmailAndSmsMixed() {
+        // Arrange
+        createBatcher(100, 60_000);
+
+        // Act
+        batcher.enqueue(new EmailMessage("a@example.com", "Тема", "Текст"));
+        batcher.enqueue(new SmsMessage("+79990000001", "Текст"));
+        batcher.enqueue(new EmailMessage("b@example.com", "Тема", "Текст"));
+        batcher.flush();
+
+        // Assert
+        assertEquals(1, emailService.getCallCount());
+        assertEquals(2, emailService.getBatches().get(0).size());
+        assertEquals(1, smsService.getCallCount());
+        assertEquals("+79990000001", smsService.getBatches().get(0).get(0).getPhone());
+    }
+
+    @Test
+    void Should_FlushPartialBatch_When_WindowElapsed() throws InterruptedException {
+        // Arrange
+        createBatcher(100, 20);
+
+        // Act
+        new SMSServiceAdapter(batcher, "+79990000001", "Книга готова к выдаче").send();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (smsService.getCallCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(1, smsService.getCallCount());
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    void Should_FallBackToSingleSends_When_BatchRejected() {
+        // Arrange
+        RecordingEmailService failingBatch = spy(new RecordingEmailService());
+        doThrow(new RuntimeException("Пачка отклонена")).when(failingBatch).sendBatch(anyList());
+        doNothing().when(failingBatch).sendEmail(anyString(), anyString(), anyString());
+        doThrow(new RuntimeException("Адрес отклонён")).when(failingBatch).sendEmail(eq("bad@example.com"), anyString(), anyString());
+        when(config.getNotificationBatchSize()).thenReturn(3);
+        when(config.getNotificationBatchWindowMillis()).thenReturn(60_000L);
+        batcher = new NotificationBatcher(failingBatch, smsService, config, meterRegistry);
+
+        // Act
+        CompletableFuture<Void> first = batcher.enqueue(new EmailMessage("a@example.com", "Тема", "Текст"));
+        CompletableFuture<Void> rejected = batcher.enqueue(new EmailMessage("bad@example.com", "Тема", "Текст"));
+        CompletableFuture<Void> third = batcher.enqueue(new EmailMessage("c@example.com", "Тема", "Текст"));
+
+        // Assert: результат у каждого сообщения свой
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(rejected.isCompletedExceptionally());
+        assertTrue(third.isDone() && !third.isCompletedExceptionally());
+        verify(failingBatch, times(3)).sendEmail(anyString(), anyString(), anyString());
+        assertEquals(1, batcher.getFailedCount());
+        assertEquals(1.0, batchCount("email", "batch_rejected"));
+        assertEquals(2.0, batchCount("email", "sent"));
+        assertEquals(1.0, batchCount("email", "failed"));
+    }
+
+    @Test
+    void Should_ThrowFromSend_When_MessageRejectedInBatchMode() {
+        // Arrange
+        RecordingSMSService failingSms = spy(new RecordingSMSService());
+        doThrow(new RuntimeException("Номер заблокирован")).when(failingSms).sendBatch(anyList());
+        doThrow(new RuntimeException("Номер заблокирован")).when(failingSms).sendSMS(anyString(), anyString());
+        when(config.getNotificationBatchSize()).thenReturn(1);
+        when(config.getNotificationBatchWindowMillis()).thenReturn(60_000L);
+        batcher = new NotificationBatcher(emailService, failingSms, config, meterRegistry);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                new SMSServiceAdapter(batcher, "+79990000001", "Книга готова к выдаче").send());
+        assertEquals("Номер заблокирован", exception.getMessage());
+        assertEquals(1.0, batchCount("sms", "failed"));
+    }
+
+    @Test
+    void Should_SendPending_When_ShutDown() {
+        // Arrange
+        createBatcher(100, 60_000);
+        batcher.enqueue(new EmailMessage("a@example.com", "Тема", "Текст"));
+
+        // Act
+        batcher.shutdown();
+
+        // Assert
+        List<List<EmailMessage>> batches = emailService.getBatches();
+        assertEquals(1, batches.size());
+        assertEquals("a@example.com", batches.get(0).get(0).getTo());
+    }
+
+    private double batchCount(String channel, String outcome) {
+        return meterRegistry.counter(NotificationBatcher.BATCH, "channel", channel, "outcome", outcome).count();
+    }
+}
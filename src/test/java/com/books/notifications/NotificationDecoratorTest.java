@@ -0,0 +1,33 @@
+package com.books.notifications;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDecoratorTest {
+
+    @Mock
+    private Notification notification;
+
+    @Test
+    void Should_ForwardSendAsync_When_DecoratorDoesNotOverrideIt() {
+        // Arrange
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        when(notification.sendAsync()).thenReturn(pending);
+        Notification decorator = new NotificationDecorator(notification) {};
+
+        // Act
+        CompletableFuture<Void> result = decorator.sendAsync();
+
+        // Assert: результат - незавершённая отправка обёрнутого уведомления, а не блокирующий send()
+        assertSame(pending, result);
+        verify(notification, never()).send();
+    }
+}
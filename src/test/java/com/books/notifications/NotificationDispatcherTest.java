@@ -0,0 +1,184 @@
+package com.books.notifications;
+
+import com.books.config.ApplicationConfig;
+import com.books.external.RecordingEmailService;
+import com.books.external.RecordingSMSService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDispatcherTest {
+
+    @Mock
+    private ApplicationConfig config;
+
+    // Реальные методы по умолчанию: диспетчер вызывает sendAsync(), который сводится к send()
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private Notification notification;
+
+    private NotificationDispatcher dispatcher;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private NotificationDispatcher createDispatcher(int maxAttempts) {
+        return createDispatcher(maxAttempts, new MockEnvironment());
+    }
+
+    private NotificationDispatcher createDispatcher(int maxAttempts, MockEnvironment environment) {
+        when(config.getNotificationWorkers()).thenReturn(2);
+        when(config.getNotificationQueueCapacity()).thenReturn(10);
+        when(config.getNotificationMaxAttempts()).thenReturn(maxAttempts);
+        when(config.getNotificationRetryBaseDelayMillis()).thenReturn(10L);
+        when(config.getNotificationDeadLetterCapacity()).thenReturn(10);
+        lenient().when(notification.getType()).thenReturn("EMAIL");
+        dispatcher = new NotificationDispatcher(config, meterRegistry, environment);
+        return dispatcher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void Should_SendOnWorkerThread_When_Dispatched() {
+        // Arrange
+        createDispatcher(3);
+
+        // Act
+        dispatcher.dispatch(notification);
+
+        // Assert
+        verify(notification, timeout(2000).times(1)).send();
+        assertTrue(dispatcher.getDeadLetters().isEmpty());
+    }
+
+    @Test
+    void Should_UseVirtualWorkersOnlyOnJdk21_When_VirtualThreadsEnabled() {
+        // Arrange
+        createDispatcher(3, new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        doAnswer(invocation -> {
+            worker.set(Thread.currentThread());
+            return null;
+        }).when(notification).send();
+
+        // Act
+        dispatcher.dispatch(notification);
+
+        // Assert
+        verify(notification, timeout(2000).times(1)).send();
+        // Виртуальные потоки входят в группу VirtualThreads; на JDK 17 остаются обычные воркеры
+        boolean virtual = "VirtualThreads".equals(worker.get().getThreadGroup().getName());
+        assertEquals(Runtime.version().feature() >= 21, virtual);
+        assertTrue(worker.get().getName().startsWith("notification-worker-"));
+    }
+
+    @Test
+    void Should_RetryAndSucceed_When_FirstAttemptFails() throws InterruptedException {
+        // Arrange
+        createDispatcher(3);
+        doThrow(new RuntimeException("SMTP недоступен")).doNothing().when(notification).send();
+
+        // Act
+        dispatcher.dispatch(notification);
+
+        // Assert
+        verify(notification, timeout(2000).times(2)).send();
+        assertTrue(dispatcher.getDeadLetters().isEmpty());
+        for (int i = 0; i < 200 && dispatchCount("sent") == 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1.0, dispatchCount("retried"));
+        assertEquals(1.0, dispatchCount("sent"));
+    }
+
+    @Test
+    void Should_MoveToDeadLetters_When_AllAttemptsFail() throws InterruptedException {
+        // Arrange
+        createDispatcher(3);
+        when(notification.getMessage()).thenReturn("Заказ создан");
+        doThrow(new RuntimeException("SMTP недоступен")).when(notification).send();
+
+        // Act
+        dispatcher.dispatch(notification);
+
+        // Assert
+        verify(notification, timeout(2000).times(3)).send();
+        for (int i = 0; i < 200 && dispatcher.getDeadLetters().isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        List<NotificationDispatcher.FailedNotification> deadLetters = dispatcher.getDeadLetters();
+        assertEquals(1, deadLetters.size());
+        assertEquals("EMAIL", deadLetters.get(0).getType());
+        assertEquals(3, deadLetters.get(0).getAttempts());
+        assertEquals("SMTP недоступен", deadLetters.get(0).getError());
+        assertEquals(2.0, dispatchCount("retried"));
+        assertEquals(1.0, dispatchCount("dead_letter"));
+        assertEquals(1.0, meterRegistry.get("books.notifications.dead.letters").gauge().value());
+    }
+
+    @Test
+    void Should_RetryAndDeadLetterBatchedMessage_When_ProviderRejectsIt() throws InterruptedException {
+        // Arrange
+        createDispatcher(2);
+        RecordingEmailService failingProvider = spy(new RecordingEmailService());
+        doThrow(new RuntimeException("Адрес отклонён")).when(failingProvider).sendBatch(anyList());
+        doThrow(new RuntimeException("Адрес отклонён")).when(failingProvider).sendEmail(anyString(), anyString(), anyString());
+        when(config.getNotificationBatchSize()).thenReturn(100);
+        when(config.getNotificationBatchWindowMillis()).thenReturn(20L);
+        NotificationBatcher batcher = new NotificationBatcher(failingProvider, new RecordingSMSService(), config, meterRegistry);
+        NotificationDedupCache dedupCache = new NotificationDedupCache(10, Duration.ofMinutes(10), System::nanoTime, meterRegistry);
+        Notification batched = new CachingNotificationDecorator(
+                new EmailServiceAdapter(batcher, "bad@example.com", "Просрочка", "Верните книгу"), dedupCache);
+
+        // Act
+        dispatcher.dispatch(batched);
+        for (int i = 0; i < 500 && dispatcher.getDeadLetters().isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        batcher.shutdown();
+
+        // Assert: пакетный режим проходит через повторы и dead-letter, ключ дедупликации освобождён
+        verify(failingProvider, times(2)).sendEmail(eq("bad@example.com"), anyString(), anyString());
+        assertEquals(1, dispatcher.getDeadLetters().size());
+        assertEquals("Адрес отклонён", dispatcher.getDeadLetters().get(0).getError());
+        assertEquals(2, dispatcher.getDeadLetters().get(0).getAttempts());
+        assertEquals(0, dedupCache.size());
+    }
+
+    @Test
+    void Should_CountSentOnlyAfterCompletion_When_ResultArrivesLater() {
+        // Arrange
+        createDispatcher(3);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        doReturn(result).when(notification).sendAsync();
+
+        // Act
+        dispatcher.dispatch(notification);
+        verify(notification, timeout(2000).times(1)).sendAsync();
+        assertEquals(0.0, dispatchCount("sent"));
+        result.complete(null);
+
+        // Assert
+        assertEquals(1.0, dispatchCount("sent"));
+        verify(notification, never()).send();
+    }
+
+    private double dispatchCount(String outcome) {
+        return meterRegistry.counter(NotificationDispatcher.DISPATCH, "channel", "EMAIL", "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,133 @@
+package com.books.repositories;
+
+import com.books.config.ApplicationConfig;
+import com.books.config.HibernateCacheConfig;
+import com.books.entities.Book;
+import com.books.services.BookWordsInitializer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Текстовые условия поиска выполняются в SQL по тем же правилам, что и полнотекстовый индекс
+@DataJpaTest
+@Import({HibernateCacheConfig.class, ApplicationConfig.class, BookWordsInitializer.class})
+class BookSpecificationsTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookWordsInitializer bookWordsInitializer;
+
+    @BeforeEach
+    void setUp() {
+        persist("Война и мир", "Лев Толстой", 1869);
+        persist("Анна Каренина", "Лев Толстой", 1877);
+        persist("Ёлка", "Фёдор Достоевский", 1876);
+        persist("Мирный атом", "Иван Петров", 1960);
+        persist("История одного города", "Салтыков-Щедрин", 1870);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void Should_MatchWordPrefixes_When_TitleHasWords() {
+        // Act
+        List<String> titles = titles(BookSpecifications.titleHasWords(List.of("мир")));
+
+        // Assert
+        assertEquals(List.of("Война и мир", "Мирный атом"), titles);
+    }
+
+    @Test
+    void Should_RequireEveryWord_When_SeveralWordsGiven() {
+        // Act
+        List<String> titles = titles(Specification.where(BookSpecifications.titleHasWords(List.of("мир", "вой")))
+                .and(BookSpecifications.authorHasWords(List.of("толст"))));
+
+        // Assert
+        assertEquals(List.of("Война и мир"), titles);
+    }
+
+    @Test
+    void Should_NotMatchInsideWord_When_WordIsInfix() {
+        // Act
+        List<String> titles = titles(BookSpecifications.titleHasWords(List.of("ина")));
+
+        // Assert
+        assertTrue(titles.isEmpty());
+    }
+
+    @Test
+    void Should_TreatYoAsYe_When_TitleContainsYo() {
+        // Act
+        List<String> titles = titles(Specification.where(BookSpecifications.titleHasWords(List.of("елка")))
+                .and(BookSpecifications.authorHasWords(List.of("федор"))));
+
+        // Assert
+        assertEquals(List.of("Ёлка"), titles);
+    }
+
+    @Test
+    void Should_ReturnAllBooks_When_NoWordsGiven() {
+        // Act & Assert
+        assertEquals(5, titles(BookSpecifications.titleHasWords(null)).size());
+    }
+
+    @Test
+    void Should_SplitOnAnySeparator_When_WordFollowsHyphen() {
+        // Act
+        List<String> titles = titles(BookSpecifications.authorHasWords(List.of("щедрин")));
+
+        // Assert
+        assertEquals(List.of("История одного города"), titles);
+    }
+
+    @Test
+    void Should_FillWords_When_BookSavedBeforeWordColumns() {
+        // Arrange
+        jdbcTemplate.update("INSERT INTO books (id, title, author) VALUES (?, ?, ?)",
+                UUID.randomUUID(), "Бесы", "Фёдор Достоевский");
+        assertTrue(titles(BookSpecifications.titleHasWords(List.of("бесы"))).isEmpty());
+
+        // Act
+        int filled = bookWordsInitializer.fillMissingWords();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, filled);
+        assertEquals(List.of("Бесы"), titles(BookSpecifications.titleHasWords(List.of("бесы"))));
+    }
+
+    private List<String> titles(Specification<Book> specification) {
+        return bookRepository.findAll(specification, Sort.by("title")).stream()
+                .map(Book::getTitle)
+                .toList();
+    }
+
+    private void persist(String title, String author, int year) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setPublicationYear(year);
+        entityManager.persist(book);
+    }
+}
@@ -0,0 +1,146 @@
+package com.books.repositories;
+
+import com.books.config.ApplicationConfig;
+import com.books.config.HibernateCacheConfig;
+import com.books.dto.BulkOrderResultDTO;
+import com.books.dto.CreateOrderDTO;
+import com.books.entities.*;
+import com.books.services.AuditService;
+import com.books.services.BookAvailabilityIndex;
+import com.books.services.OrderService;
+import com.books.services.OrderStatusMetrics;
+import com.books.services.ReservationExpiryService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// POST /api/orders/bulk на реальной БД: число запросов не зависит от размера пакета,
+// вставки заказов уходят JDBC-пакетами (hibernate.jdbc.batch_size из application.properties)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({OrderService.class, ApplicationConfig.class, HibernateCacheConfig.class})
+class BulkOrderInsertTest {
+
+    private static final int ORDERS = 30;
+
+    @MockitoBean
+    private AuditService auditService;
+
+    @MockitoBean
+    private ReservationExpiryService reservationExpiryService;
+
+    @MockitoBean
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
+    @MockitoBean
+    private OrderStatusMetrics orderStatusMetrics;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<UUID> bookInstanceIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Library library = new Library();
+        library.setName("Central Library");
+        library.setAddress("Main St 1");
+        entityManager.persist(library);
+
+        Book book = new Book();
+        book.setTitle("Война и мир");
+        book.setAuthor("Лев Толстой");
+        entityManager.persist(book);
+
+        for (int i = 0; i < ORDERS / 3; i++) {
+            User user = new User();
+            user.setFullName("Reader " + i);
+            user.setEmail("reader" + i + "@example.com");
+            user.setPassword("password");
+            user.setRole(UserRole.READER);
+            user.setStatus(UserStatus.ACTIVE);
+            entityManager.persist(user);
+            userIds.add(user.getId());
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            BookInstance bookInstance = new BookInstance();
+            bookInstance.setBook(book);
+            bookInstance.setLibrary(library);
+            bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
+            entityManager.persist(bookInstance);
+            bookInstanceIds.add(bookInstance.getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void Should_UseConstantNumberOfStatements_When_CreatingOrdersInBulk() {
+        // Arrange
+        List<CreateOrderDTO> request = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            request.add(new CreateOrderDTO(userIds.get(i % userIds.size()), bookInstanceIds.get(i),
+                    null, LocalDateTime.now().plusDays(14)));
+        }
+
+        // Act
+        BulkOrderResultDTO result = orderService.createOrdersBulk(request);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(ORDERS, result.getCreated());
+        assertEquals(0, result.getFailed());
+        assertEquals("Война и мир", result.getItems().get(0).getOrder().getBookTitle());
+        assertEquals(ORDERS, statistics.getEntityInsertCount());
+        // Пользователи, лимиты, блокировка, UPDATE, перечитывание экземпляров и один пакетный INSERT
+        assertEquals(6, statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        assertEquals(ORDERS, orderRepository.count());
+        assertTrue(orderRepository.findAll().stream()
+                .allMatch(order -> order.getBookInstance().getStatus() == BookInstanceStatus.RESERVED));
+    }
+
+    @Test
+    void Should_SkipUnavailableInstance_When_AlreadyReserved() {
+        // Arrange
+        orderService.createOrdersBulk(List.of(new CreateOrderDTO(userIds.get(0), bookInstanceIds.get(0), null, null)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        BulkOrderResultDTO result = orderService.createOrdersBulk(List.of(
+                new CreateOrderDTO(userIds.get(1), bookInstanceIds.get(0), null, null),
+                new CreateOrderDTO(userIds.get(1), bookInstanceIds.get(1), null, null)));
+        entityManager.flush();
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals("Экземпляр книги недоступен для заказа", result.getItems().get(0).getError());
+        assertEquals(2, orderRepository.count());
+    }
+}
@@ -0,0 +1,136 @@
+package com.books.repositories;
+
+import com.books.config.ApplicationConfig;
+import com.books.config.HibernateCacheConfig;
+import com.books.entities.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Ленивые связи и именованные графы: каждая выборка загружает ровно то, что нужно её DTO
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({HibernateCacheConfig.class, ApplicationConfig.class})
+class EntityGraphTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookInstanceRepository bookInstanceRepository;
+
+    @Autowired
+    private OrderAuditRepository orderAuditRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Order order;
+    private BookInstance bookInstance;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setFullName("Test User");
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        user.setRole(UserRole.READER);
+        user.setStatus(UserStatus.ACTIVE);
+        entityManager.persist(user);
+
+        Library library = new Library();
+        library.setName("Central Library");
+        library.setAddress("Main St 1");
+        entityManager.persist(library);
+
+        Book book = new Book();
+        book.setTitle("Война и мир");
+        book.setAuthor("Лев Толстой");
+        entityManager.persist(book);
+
+        bookInstance = new BookInstance();
+        bookInstance.setBook(book);
+        bookInstance.setLibrary(library);
+        bookInstance.setStatus(BookInstanceStatus.ISSUED);
+        entityManager.persist(bookInstance);
+
+        order = new Order();
+        order.setUser(user);
+        order.setBookInstance(bookInstance);
+        order.setStatus(OrderStatus.ISSUED);
+        entityManager.persist(order);
+
+        OrderAudit audit = new OrderAudit();
+        audit.setUser(user);
+        audit.setOrder(order);
+        audit.setOperation(AuditOperation.ORDER);
+        entityManager.persist(audit);
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void Should_LoadOrderOnly_When_PlainFindById() {
+        // Act
+        Order result = orderRepository.findById(order.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(result.getUser()));
+        assertFalse(Hibernate.isInitialized(result.getBookInstance()));
+    }
+
+    @Test
+    void Should_FetchWholeDetailGraphInOneQuery_When_DetailedOrderRequested() {
+        // Act
+        Order result = orderRepository.findDetailedById(order.getId()).orElseThrow();
+        String title = result.getBookInstance().getBook().getTitle();
+        String library = result.getBookInstance().getLibrary().getName();
+        String user = result.getUser().getFullName();
+
+        // Assert
+        assertEquals("Война и мир", title);
+        assertEquals("Central Library", library);
+        assertEquals("Test User", user);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_FetchBookAndLibraryWithInstances_When_InstancesListed() {
+        // Act
+        List<BookInstance> result = bookInstanceRepository.findByStatus(BookInstanceStatus.ISSUED);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(Hibernate.isInitialized(result.get(0).getBook()));
+        assertTrue(Hibernate.isInitialized(result.get(0).getLibrary()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void Should_LeaveOrderUnloaded_When_AuditRowsListed() {
+        // Act
+        List<OrderAudit> result = orderAuditRepository.findAll();
+
+        // Assert
+        assertEquals(1, result.size());
+        assertTrue(Hibernate.isInitialized(result.get(0).getUser()));
+        assertFalse(Hibernate.isInitialized(result.get(0).getOrder()));
+        assertEquals(order.getId(), result.get(0).getOrder().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
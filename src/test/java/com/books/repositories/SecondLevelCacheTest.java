@@ -0,0 +1,185 @@
+package com.books.repositories;
+
+import com.books.config.ApplicationConfig;
+import com.books.config.HibernateCacheConfig;
+import com.books.entities.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Сколько SQL-запросов выполняют типичные чтения с кэшем второго уровня и без прогрева.
+// Каждое чтение идёт в отдельной транзакции, как отдельный HTTP-запрос
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({HibernateCacheConfig.class, ApplicationConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookInstanceRepository bookInstanceRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LibraryRepository libraryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private User user;
+    private Library library;
+    private List<Book> books;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            user = new User();
+            user.setFullName("Test User");
+            user.setEmail("test@example.com");
+            user.setPassword("password");
+            user.setRole(UserRole.READER);
+            user.setStatus(UserStatus.ACTIVE);
+            user = userRepository.save(user);
+
+            library = new Library();
+            library.setName("Central Library");
+            library.setAddress("Main St 1");
+            library = libraryRepository.save(library);
+
+            books = List.of(createBook("Война и мир"), createBook("Анна Каренина"), createBook("Воскресение"));
+            List<BookInstance> instances = books.stream().map(this::createInstance).toList();
+
+            order = new Order();
+            order.setUser(user);
+            order.setBookInstance(instances.get(0));
+            order.setStatus(OrderStatus.ISSUED);
+            order = orderRepository.save(order);
+        });
+        sessionFactory.getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderRepository.deleteAll();
+            bookInstanceRepository.deleteAll();
+            bookRepository.deleteAll();
+            libraryRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    private Book createBook(String title) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Лев Толстой");
+        return bookRepository.save(book);
+    }
+
+    private BookInstance createInstance(Book book) {
+        BookInstance bookInstance = new BookInstance();
+        bookInstance.setBook(book);
+        bookInstance.setLibrary(library);
+        bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
+        return bookInstanceRepository.save(bookInstance);
+    }
+
+    // Число SQL-запросов, выполненных за одну транзакцию
+    private long countStatements(Supplier<?> request) {
+        statistics.clear();
+        transactionTemplate.execute(status -> request.get());
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void Should_InitializeLazyUserFromCache_When_OrdersListedWithWarmCache() {
+        // Act
+        Supplier<List<String>> request = () -> orderRepository.findByStatus(OrderStatus.ISSUED).stream()
+                .map(o -> o.getUser().getFullName())
+                .toList();
+        long cold = countStatements(request);
+        long warm = countStatements(request);
+
+        // Assert
+        // без кэша: выборка заказов + ленивая загрузка пользователя
+        assertEquals(2, cold);
+        assertEquals(1, warm);
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void Should_ServeReferenceByIdFromCache_When_AlreadyLoaded() {
+        // Act
+        long cold = countStatements(() -> userRepository.findById(user.getId()));
+        long warm = countStatements(() -> userRepository.findById(user.getId()));
+
+        // Assert
+        assertEquals(1, cold);
+        assertEquals(0, warm);
+    }
+
+    @Test
+    void Should_LoadOrderWithSingleJoin_When_OrderRequestedById() {
+        // Act
+        // GET /api/orders/{id}: граф Order.detail приносит заказ, пользователя, экземпляр, книгу
+        // и библиотеку одним SELECT с JOIN, кэш количество запросов здесь не меняет
+        long cold = countStatements(() -> orderRepository.findDetailedById(order.getId()).orElseThrow());
+        long warm = countStatements(() -> orderRepository.findDetailedById(order.getId()).orElseThrow());
+
+        // Assert
+        assertEquals(1, cold);
+        assertEquals(1, warm);
+    }
+
+    @Test
+    void Should_ReturnFreshBook_When_BookUpdatedAfterCaching() {
+        // Arrange
+        UUID bookId = books.get(0).getId();
+        transactionTemplate.execute(status -> bookRepository.findById(bookId));
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            book.setTitle("Война и мир. Том 1");
+        });
+        statistics.clear();
+        Book result = transactionTemplate.execute(status -> bookRepository.findById(bookId).orElseThrow());
+
+        // Assert
+        assertEquals("Война и мир. Том 1", result.getTitle());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,224 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.dto.OrderAuditDTO;
+import com.books.entities.AuditOperation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditArchiveServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationConfig config;
+
+    @TempDir
+    Path archiveDir;
+
+    private ResultSet createAuditRow(UUID id, LocalDateTime createdAt, UUID userId, String fullName,
+                                     AuditOperation operation, String oldValue, String newValue, UUID orderId) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn(id.toString());
+        when(rs.getTimestamp("created_at")).thenReturn(Timestamp.valueOf(createdAt));
+        when(rs.getTimestamp("updated_at")).thenReturn(null);
+        when(rs.getString("user_id")).thenReturn(userId.toString());
+        when(rs.getString("full_name")).thenReturn(fullName);
+        when(rs.getString("operation")).thenReturn(operation.name());
+        when(rs.getString("old_value")).thenReturn(oldValue);
+        when(rs.getString("new_value")).thenReturn(newValue);
+        when(rs.getString("order_id")).thenReturn(orderId.toString());
+        return rs;
+    }
+
+    @Test
+    void Should_ExportMonthToArchiveAndReadItBack_When_MonthArchived() throws Exception {
+        // Arrange
+        YearMonth month = YearMonth.of(2024, 3);
+        UUID userId = UUID.randomUUID();
+        UUID orderId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 15, 10, 30);
+        UUID lastId = UUID.randomUUID();
+        ResultSet first = createAuditRow(UUID.randomUUID(), createdAt, userId, "Иванов, \"Иван\"",
+                AuditOperation.ORDER, null, "Order created\nwith status: CREATED", orderId);
+        ResultSet second = createAuditRow(lastId, createdAt.plusDays(1), userId, "Иванов, \"Иван\"",
+                AuditOperation.CANCEL, "Status: CREATED", "", UUID.randomUUID());
+
+        when(config.getAuditArchiveDir()).thenReturn(archiveDir.toString());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(first);
+            handler.processRow(second);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        AuditArchiveService service = new AuditArchiveService(jdbcTemplate, transactionManager, config);
+
+        // Act
+        int exported = service.archiveMonth(month);
+        List<OrderAuditDTO> archived = service.findArchived(
+                new KeysetCursor(LocalDateTime.of(2024, 3, 1, 0, 0), new UUID(0L, 0L)), LocalDateTime.of(2024, 4, 1, 0, 0),
+                audit -> orderId.equals(audit.getOrderId()), 10);
+
+        // Assert
+        assertEquals(2, exported);
+        assertTrue(Files.exists(archiveDir.resolve("order_audit_2024-03.csv.gz")));
+        assertEquals(1, archived.size());
+        assertEquals("Иванов, \"Иван\"", archived.get(0).getUserFullName());
+        assertEquals("Order created\nwith status: CREATED", archived.get(0).getNewValue());
+        assertNull(archived.get(0).getOldValue());
+        assertEquals(createdAt, archived.get(0).getCreatedAt());
+        // Удаляется только выгруженный диапазон, в той же транзакции REPEATABLE READ, что и выгрузка
+        verify(jdbcTemplate, times(1)).update(anyString(),
+                eq(Timestamp.valueOf(LocalDateTime.of(2024, 3, 1, 0, 0))),
+                eq(Timestamp.valueOf(createdAt.plusDays(1))),
+                eq(Timestamp.valueOf(createdAt.plusDays(1))),
+                eq(lastId));
+        verify(transactionManager).getTransaction(argThat((TransactionDefinition definition) ->
+                definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void Should_ArchiveEachExpiredMonthInOwnTransaction_When_ScheduledRunStarts() {
+        // Arrange
+        YearMonth oldest = YearMonth.now().minusMonths(14);
+        when(config.getAuditRetentionMonths()).thenReturn(12);
+        when(config.getAuditArchiveDir()).thenReturn(archiveDir.toString());
+        when(jdbcTemplate.queryForObject(anyString(), eq(Timestamp.class)))
+                .thenReturn(Timestamp.valueOf(oldest.atDay(10).atStartOfDay()));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        AuditArchiveService service = new AuditArchiveService(jdbcTemplate, transactionManager, config);
+
+        // Act
+        service.archiveExpiredMonths();
+
+        // Assert: два месяца старше горизонта, у каждого своя транзакция; пустые месяцы ничего не удаляют и не пишут
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        verify(transactionManager, times(2)).commit(any());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        assertFalse(Files.exists(archiveDir.resolve("order_audit_" + oldest + ".csv.gz")));
+    }
+
+    @Test
+    void Should_PageThroughArchiveWithCursor_When_LimitReached() throws Exception {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 10, 9, 0);
+        UUID userId = UUID.randomUUID();
+        List<ResultSet> rows = List.of(
+                createAuditRow(UUID.randomUUID(), createdAt, userId, "Reader", AuditOperation.ORDER, null, "1", UUID.randomUUID()),
+                createAuditRow(UUID.randomUUID(), createdAt.plusHours(1), userId, "Reader", AuditOperation.ORDER, null, "2", UUID.randomUUID()),
+                createAuditRow(UUID.randomUUID(), createdAt.plusHours(2), userId, "Reader", AuditOperation.ORDER, null, "3", UUID.randomUUID()));
+        when(config.getAuditArchiveDir()).thenReturn(archiveDir.toString());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        AuditArchiveService service = new AuditArchiveService(jdbcTemplate, transactionManager, config);
+        service.archiveMonth(YearMonth.of(2024, 5));
+        LocalDateTime to = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+        // Act
+        List<OrderAuditDTO> firstPage = service.findArchived(
+                new KeysetCursor(LocalDateTime.of(2024, 5, 1, 0, 0), new UUID(0L, 0L)), to, audit -> true, 2);
+        OrderAuditDTO last = firstPage.get(firstPage.size() - 1);
+        List<OrderAuditDTO> secondPage = service.findArchived(
+                new KeysetCursor(last.getCreatedAt(), last.getId()), to, audit -> true, 2);
+
+        // Assert
+        assertEquals(List.of("1", "2"), firstPage.stream().map(OrderAuditDTO::getNewValue).toList());
+        assertEquals(List.of("3"), secondPage.stream().map(OrderAuditDTO::getNewValue).toList());
+    }
+
+    @Test
+    void Should_KeepArchivedRows_When_MonthArchivedAgainWithLateRow() throws Exception {
+        // Arrange
+        YearMonth month = YearMonth.of(2024, 7);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 7, 10, 9, 0);
+        UUID userId = UUID.randomUUID();
+        UUID repeatedId = UUID.randomUUID();
+        List<ResultSet> firstRun = List.of(
+                createAuditRow(UUID.randomUUID(), createdAt, userId, "Reader", AuditOperation.ORDER, null, "1", UUID.randomUUID()),
+                createAuditRow(repeatedId, createdAt.plusDays(2), userId, "Reader", AuditOperation.ORDER, null, "3", UUID.randomUUID()));
+        // Поздняя строка попадает между уже выгруженными; строка repeatedId осталась в БД после сбоя до DELETE
+        List<ResultSet> secondRun = List.of(
+                createAuditRow(UUID.randomUUID(), createdAt.plusDays(1), userId, "Reader", AuditOperation.UPDATE, null, "2", UUID.randomUUID()),
+                createAuditRow(repeatedId, createdAt.plusDays(2), userId, "Reader", AuditOperation.ORDER, null, "3", UUID.randomUUID()));
+        List<List<ResultSet>> runs = List.of(firstRun, secondRun, List.of());
+        int[] run = {0};
+        when(config.getAuditArchiveDir()).thenReturn(archiveDir.toString());
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : runs.get(run[0]++)) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        AuditArchiveService service = new AuditArchiveService(jdbcTemplate, transactionManager, config);
+
+        // Act
+        int first = service.archiveMonth(month);
+        int second = service.archiveMonth(month);
+        int third = service.archiveMonth(month);
+        List<OrderAuditDTO> archived = service.findArchived(
+                new KeysetCursor(month.atDay(1).atStartOfDay(), new UUID(0L, 0L)),
+                month.plusMonths(1).atDay(1).atStartOfDay(), audit -> true, 10);
+
+        // Assert
+        assertEquals(List.of(2, 2, 0), List.of(first, second, third));
+        assertEquals(List.of("1", "2", "3"), archived.stream().map(OrderAuditDTO::getNewValue).toList());
+        assertFalse(Files.exists(archiveDir.resolve("order_audit_2024-07.csv.gz.tmp")));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(), any(), any(), any());
+    }
+
+    @Test
+    void Should_ReturnEmptyList_When_NoArchiveForPeriod() {
+        // Arrange
+        when(config.getAuditArchiveDir()).thenReturn(archiveDir.toString());
+        AuditArchiveService service = new AuditArchiveService(jdbcTemplate, transactionManager, config);
+
+        // Act
+        List<OrderAuditDTO> archived = service.findArchived(
+                new KeysetCursor(LocalDateTime.of(2023, 1, 1, 0, 0), new UUID(0L, 0L)), LocalDateTime.of(2023, 6, 1, 0, 0),
+                audit -> true, 10);
+
+        // Assert
+        assertTrue(archived.isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,203 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.entities.AuditOperation;
+import com.books.entities.Order;
+import com.books.entities.OrderAudit;
+import com.books.entities.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationConfig config;
+
+    private AuditBatchWriter writer;
+
+    private AuditBatchWriter createWriter(int batchSize) {
+        return createWriter(batchSize, 100, 60_000L, 5);
+    }
+
+    private AuditBatchWriter createWriter(int batchSize, int queueCapacity, long flushIntervalMillis, int maxAttempts) {
+        when(config.getAuditBatchSize()).thenReturn(batchSize);
+        when(config.getAuditQueueCapacity()).thenReturn(queueCapacity);
+        when(config.getAuditFlushIntervalMillis()).thenReturn(flushIntervalMillis);
+        when(config.getAuditMaxAttempts()).thenReturn(maxAttempts);
+        when(config.getAuditDeadLetterCapacity()).thenReturn(100);
+        writer = new AuditBatchWriter(jdbcTemplate, transactionManager, config);
+        return writer;
+    }
+
+    private OrderAudit createTestAudit() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+
+        OrderAudit audit = new OrderAudit();
+        audit.setUser(user);
+        audit.setOrder(order);
+        audit.setOperation(AuditOperation.ORDER);
+        audit.setNewValue("Order created");
+        return audit;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writer.shutdown();
+    }
+
+    @Test
+    void Should_InsertQueuedAuditsInOneBatch_When_Flushed() {
+        // Arrange
+        createWriter(100);
+        writer.submit(createTestAudit());
+        writer.submit(createTestAudit());
+        writer.submit(createTestAudit());
+
+        // Act
+        writer.flush();
+
+        // Assert
+        assertEquals(0, writer.getPendingCount());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(),
+                argThat((Collection<Object> batch) -> batch.size() == 3), eq(3), any());
+    }
+
+    @Test
+    void Should_FlushInBackground_When_BatchSizeReached() {
+        // Arrange
+        createWriter(2);
+
+        // Act
+        writer.submit(createTestAudit());
+        writer.submit(createTestAudit());
+
+        // Assert
+        verify(jdbcTemplate, timeout(2000).times(1)).batchUpdate(anyString(),
+                argThat((Collection<Object> batch) -> batch.size() == 2), eq(2), any());
+    }
+
+    @Test
+    void Should_EnqueueOnlyAfterCommit_When_TransactionActive() {
+        // Arrange
+        createWriter(100);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        writer.submit(createTestAudit());
+
+        // Assert
+        assertEquals(0, writer.getPendingCount());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, writer.getPendingCount());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), any(Collection.class), anyInt(), any());
+    }
+
+    @Test
+    void Should_KeepFlushingOnSchedule_When_InsertFails() {
+        // Arrange: планировщик подменён, запуски по таймеру выполняются в тесте явно
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        when(config.getAuditBatchSize()).thenReturn(100);
+        when(config.getAuditQueueCapacity()).thenReturn(100);
+        when(config.getAuditFlushIntervalMillis()).thenReturn(1000L);
+        when(config.getAuditMaxAttempts()).thenReturn(5);
+        when(config.getAuditDeadLetterCapacity()).thenReturn(100);
+        writer = new AuditBatchWriter(jdbcTemplate, transactionManager, config, scheduler);
+        ArgumentCaptor<Runnable> scheduledFlush = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(scheduledFlush.capture(), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("Соединение с БД потеряно"))
+                .thenReturn(new int[][]{{1, 1}});
+        writer.submit(createTestAudit());
+        writer.submit(createTestAudit());
+
+        // Act: исключение из задачи отменило бы все следующие запуски планировщика
+        assertDoesNotThrow(() -> scheduledFlush.getValue().run());
+        assertEquals(2, writer.getPendingCount());
+        scheduledFlush.getValue().run();
+
+        // Assert: неудачная пачка вернулась в очередь и записана следующим запуском по таймеру
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(),
+                argThat((Collection<Object> batch) -> batch.size() == 2), eq(2), any());
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(0, writer.getDeadLetterCount());
+    }
+
+    @Test
+    void Should_DeadLetterAudits_When_InsertKeepsFailing() {
+        // Arrange
+        createWriter(100, 100, 60_000L, 2);
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("Соединение с БД потеряно"));
+        writer.submit(createTestAudit());
+        writer.submit(createTestAudit());
+
+        // Act
+        writer.flush();
+        assertEquals(2, writer.getPendingCount());
+        writer.flush();
+
+        // Assert
+        assertEquals(0, writer.getPendingCount());
+        assertEquals(2, writer.getDeadLetterCount());
+    }
+
+    @Test
+    void Should_InsertInNewTransaction_When_QueueIsFull() {
+        // Arrange
+        createWriter(100, 1, 60_000L, 5);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        TransactionSynchronizationManager.initSynchronization();
+        writer.submit(createTestAudit());
+        writer.submit(createTestAudit());
+
+        // Act
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(1, writer.getPendingCount());
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(argThat((TransactionDefinition definition) ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        inOrder.verify(jdbcTemplate).batchUpdate(anyString(),
+                argThat((Collection<Object> batch) -> batch.size() == 1), eq(1), any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+}
@@ -0,0 +1,217 @@
+package com.books.services;
+
+import com.books.dto.BookSuggestionDTO;
+import com.books.entities.Book;
+import com.books.repositories.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookAutocompleteIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    private Book war;
+
+    private Book createBook(String title, String author) {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+
+    @BeforeEach
+    void setUp() {
+        war = createBook("Война и мир", "Лев Толстой");
+        when(bookRepository.findAll()).thenReturn(List.of(
+                war,
+                createBook("Анна Каренина", "Лев Толстой"),
+                createBook("Воскресение", "Лев Толстой"),
+                createBook("Вокруг света за 80 дней", "Жюль Верн")));
+        bookAutocompleteIndex.rebuild();
+    }
+
+    @Test
+    void Should_SuggestTitlesAndAuthors_When_PrefixMatchesStart() {
+        // Act
+        List<BookSuggestionDTO> result = bookAutocompleteIndex.suggest("Во", 10);
+
+        // Assert
+        assertEquals(List.of("Война и мир", "Вокруг света за 80 дней", "Воскресение"),
+                result.stream().map(BookSuggestionDTO::getText).toList());
+        assertTrue(result.stream().allMatch(s -> s.getType().equals("TITLE")));
+    }
+
+    @Test
+    void Should_MatchWordInsideText_When_PrefixMatchesLaterWord() {
+        // Act
+        List<BookSuggestionDTO> result = bookAutocompleteIndex.suggest("мир", 10);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals("Война и мир", result.get(0).getText());
+    }
+
+    @Test
+    void Should_RankByBookCount_When_SeveralSuggestionsMatch() {
+        // Act
+        List<BookSuggestionDTO> result = bookAutocompleteIndex.suggest("л", 10);
+
+        // Assert
+        assertEquals("Лев Толстой", result.get(0).getText());
+        assertEquals("AUTHOR", result.get(0).getType());
+        assertEquals(3, result.get(0).getBookCount());
+    }
+
+    @Test
+    void Should_LimitSuggestions_When_ManyMatch() {
+        // Act & Assert
+        assertEquals(2, bookAutocompleteIndex.suggest("в", 2).size());
+    }
+
+    @Test
+    void Should_IgnoreCaseAndYo_When_Normalizing() {
+        // Arrange
+        bookAutocompleteIndex.index(createBook("Ёлка", "Автор"));
+
+        // Act & Assert
+        assertEquals("Ёлка", bookAutocompleteIndex.suggest("ЕЛ", 5).get(0).getText());
+    }
+
+    @Test
+    void Should_ReflectChanges_When_BookUpdatedOrDeleted() {
+        // Arrange
+        war.setTitle("Мир и война");
+
+        // Act
+        bookAutocompleteIndex.index(war);
+
+        // Assert
+        assertEquals("Мир и война", bookAutocompleteIndex.suggest("мир и", 5).get(0).getText());
+        assertTrue(bookAutocompleteIndex.suggest("война и", 5).isEmpty());
+
+        bookAutocompleteIndex.delete(war.getId());
+        assertTrue(bookAutocompleteIndex.suggest("мир", 5).isEmpty());
+        assertEquals(2, bookAutocompleteIndex.suggest("лев", 5).get(0).getBookCount());
+    }
+
+    @Test
+    void Should_RankWholeRange_When_PrefixMatchesThousandsOfKeys() {
+        // Arrange
+        List<Book> catalog = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            catalog.add(createBook(String.format("Аа %04d", i), "Автор " + i));
+        }
+        for (int i = 0; i < 3; i++) {
+            catalog.add(createBook("Ая " + i, "Ая Популярный"));
+        }
+        when(bookRepository.findAll()).thenReturn(catalog);
+        bookAutocompleteIndex.rebuild();
+
+        // Act
+        List<BookSuggestionDTO> result = bookAutocompleteIndex.suggest("а", 3);
+
+        // Assert
+        assertEquals("Ая Популярный", result.get(0).getText());
+        assertEquals(3, result.get(0).getBookCount());
+        assertEquals("Аа 0000", result.get(1).getText());
+    }
+
+    @Test
+    void Should_MergeBeyondStoredTop_When_LimitExceedsTopSize() {
+        // Arrange
+        List<Book> catalog = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            for (int copy = 0; copy <= i % 3; copy++) {
+                catalog.add(createBook("Мир " + (char) ('а' + i), "Автор " + i));
+            }
+        }
+        when(bookRepository.findAll()).thenReturn(catalog);
+        bookAutocompleteIndex.rebuild();
+
+        // Act
+        List<BookSuggestionDTO> result = bookAutocompleteIndex.suggest("мир", 25);
+
+        // Assert: 10 названий по 3 книги, 10 по 2, затем по 1 - в алфавитном порядке внутри группы
+        assertEquals(25, result.size());
+        assertEquals(25, result.stream().map(BookSuggestionDTO::getText).distinct().count());
+        assertEquals(List.of("Мир в", "Мир е", "Мир и"),
+                result.subList(0, 3).stream().map(BookSuggestionDTO::getText).toList());
+        assertEquals(3, result.get(9).getBookCount());
+        assertEquals(2, result.get(10).getBookCount());
+        assertEquals(1, result.get(20).getBookCount());
+        for (int i = 1; i < result.size(); i++) {
+            assertTrue(result.get(i - 1).getBookCount() >= result.get(i).getBookCount());
+        }
+    }
+
+    @Test
+    void Should_StayCompact_When_CatalogSeeded() {
+        // Arrange
+        List<Book> catalog = new ArrayList<>();
+        int keys = 0;
+        for (int i = 0; i < 2000; i++) {
+            catalog.add(createBook("Книга номер " + i + " о приключениях", "Автор " + (i % 100)));
+            keys += 5;
+        }
+        keys += 100 * 2;
+        when(bookRepository.findAll()).thenReturn(catalog);
+        bookAutocompleteIndex.rebuild();
+        int nodesAfterRebuild = bookAutocompleteIndex.nodeCount();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            bookAutocompleteIndex.delete(catalog.get(i).getId());
+            bookAutocompleteIndex.index(catalog.get(i));
+        }
+
+        // Assert: в сжатом дереве узлов не больше двух на суффикс-ключ, а не по узлу на символ
+        assertTrue(nodesAfterRebuild <= 2 * keys, "узлов: " + nodesAfterRebuild);
+        assertEquals(nodesAfterRebuild, bookAutocompleteIndex.nodeCount());
+        assertEquals(20, bookAutocompleteIndex.suggest("автор", 50).get(0).getBookCount());
+    }
+
+    @Test
+    void Should_UpdateRanking_When_BookCountChanges() {
+        // Arrange
+        Book verne = createBook("Дети капитана Гранта", "Жюль Верн");
+        Book another = createBook("Таинственный остров", "Жюль Верн");
+
+        // Act
+        bookAutocompleteIndex.index(verne);
+        bookAutocompleteIndex.index(another);
+        bookAutocompleteIndex.delete(war.getId());
+        bookAutocompleteIndex.delete(createBook("Нет в индексе", "Никто").getId());
+
+        // Assert
+        List<BookSuggestionDTO> authors = bookAutocompleteIndex.suggest("ж", 5);
+        assertEquals("Жюль Верн", authors.get(0).getText());
+        assertEquals(3, authors.get(0).getBookCount());
+        assertEquals(2, bookAutocompleteIndex.suggest("л", 1).get(0).getBookCount());
+        assertEquals(List.of("Вокруг света за 80 дней", "Воскресение"),
+                bookAutocompleteIndex.suggest("во", 5).stream().map(BookSuggestionDTO::getText).toList());
+    }
+
+    @Test
+    void Should_ReturnEmpty_When_PrefixBlank() {
+        // Act & Assert
+        assertTrue(bookAutocompleteIndex.suggest("  ", 5).isEmpty());
+        assertTrue(bookAutocompleteIndex.suggest(null, 5).isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+package com.books.services;
+
+import com.books.dto.AvailabilityCountDTO;
+import com.books.dto.BookAvailabilityDTO;
+import com.books.entities.Book;
+import com.books.entities.BookInstance;
+import com.books.entities.BookInstanceStatus;
+import com.books.entities.Library;
+import com.books.repositories.BookInstanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookAvailabilityIndexTest {
+
+    @Mock
+    private BookInstanceRepository bookInstanceRepository;
+
+    @InjectMocks
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
+    private Book book;
+    private Library central;
+    private Library branch;
+
+    private Library createLibrary() {
+        Library library = new Library();
+        library.setId(UUID.randomUUID());
+        return library;
+    }
+
+    private BookInstance createInstance(Library library) {
+        BookInstance bookInstance = new BookInstance();
+        bookInstance.setId(UUID.randomUUID());
+        bookInstance.setBook(book);
+        bookInstance.setLibrary(library);
+        return bookInstance;
+    }
+
+    @BeforeEach
+    void setUp() {
+        book = new Book();
+        book.setId(UUID.randomUUID());
+        central = createLibrary();
+        branch = createLibrary();
+        when(bookInstanceRepository.countAvailability()).thenReturn(List.of(
+                new AvailabilityCountDTO(book.getId(), central.getId(), 5, 2),
+                new AvailabilityCountDTO(book.getId(), branch.getId(), 2, 1)));
+        bookAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    void Should_SumLibraries_When_BookHeldInSeveralLibraries() {
+        // Act
+        BookAvailabilityDTO result = bookAvailabilityIndex.getForBook(book.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(7, result.getTotal());
+        assertEquals(3, result.getAvailable());
+        assertEquals(2, result.getLibraries().size());
+        assertEquals(central.getId(), result.getLibraries().get(0).getLibraryId());
+    }
+
+    @Test
+    void Should_UpdateCounters_When_StatusChanges() {
+        // Arrange
+        BookInstance reserved = createInstance(central);
+
+        // Act
+        bookAvailabilityIndex.statusChanged(reserved, BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+        bookAvailabilityIndex.statusChanged(createInstance(branch), null, BookInstanceStatus.AVAILABLE);
+        bookAvailabilityIndex.statusChanged(reserved, BookInstanceStatus.RESERVED, BookInstanceStatus.ISSUED);
+
+        // Assert
+        BookAvailabilityDTO result = bookAvailabilityIndex.getForBook(book.getId()).orElseThrow();
+        assertEquals(8, result.getTotal());
+        assertEquals(3, result.getAvailable());
+    }
+
+    @Test
+    void Should_DropLibrary_When_LastInstanceDeleted() {
+        // Arrange
+        BookInstance first = createInstance(branch);
+        BookInstance second = createInstance(branch);
+
+        // Act
+        bookAvailabilityIndex.statusChanged(first, BookInstanceStatus.AVAILABLE, null);
+        bookAvailabilityIndex.statusChanged(second, BookInstanceStatus.ISSUED, null);
+
+        // Assert
+        BookAvailabilityDTO result = bookAvailabilityIndex.getForBook(book.getId()).orElseThrow();
+        assertEquals(1, result.getLibraries().size());
+        assertEquals(5, result.getTotal());
+    }
+
+    @Test
+    void Should_RepairDrift_When_Reconciled() {
+        // Arrange
+        bookAvailabilityIndex.statusChanged(createInstance(central), BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+
+        // Act
+        int drifted = bookAvailabilityIndex.reconcile();
+
+        // Assert
+        assertEquals(1, drifted);
+        assertEquals(3, bookAvailabilityIndex.getForBook(book.getId()).orElseThrow().getAvailable());
+        assertEquals(0, bookAvailabilityIndex.reconcile());
+    }
+
+    @Test
+    void Should_ReturnEmpty_When_BookUnknown() {
+        // Act & Assert
+        assertTrue(bookAvailabilityIndex.getForBook(UUID.randomUUID()).isEmpty());
+    }
+}
@@ -1,6 +1,9 @@
 package com.books.services;
 
+import com.books.dto.AvailabilityCountDTO;
+import com.books.dto.BookAvailabilityDTO;
 import com.books.dto.BookInstanceDTO;
+import com.books.dto.UpdateBookInstanceDTO;
 import com.books.entities.Book;
 import com.books.entities.BookInstance;
 import com.books.entities.BookInstanceStatus;
@@ -35,6 +38,9 @@ class BookInstanceServiceTest {
     @Mock
     private LibraryRepository libraryRepository;
 
+    @Mock
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
     @InjectMocks
     private BookInstanceService bookInstanceService;
 
@@ -140,4 +146,49 @@ class BookInstanceServiceTest {
         assertEquals(1, result.size());
         assertEquals(BookInstanceStatus.AVAILABLE, result.get(0).getStatus());
     }
-}
\ No newline at end of file
+
+    @Test
+    void Should_ReturnAvailabilityFromIndex_When_BookHasInstances() {
+        // Arrange
+        UUID bookId = UUID.randomUUID();
+        BookAvailabilityDTO availability = new BookAvailabilityDTO(bookId, 7, 3,
+                List.of(new AvailabilityCountDTO(bookId, UUID.randomUUID(), 7, 3)));
+        when(bookAvailabilityIndex.getForBook(bookId)).thenReturn(Optional.of(availability));
+
+        // Act
+        BookAvailabilityDTO result = bookInstanceService.getAvailability(bookId);
+
+        // Assert
+        assertEquals(7, result.getTotal());
+        assertEquals(3, result.getAvailable());
+        verifyNoInteractions(bookInstanceRepository, bookRepository);
+    }
+
+    @Test
+    void Should_ThrowEntityNotFoundException_When_AvailabilityOfUnknownBookRequested() {
+        // Arrange
+        UUID bookId = UUID.randomUUID();
+        when(bookAvailabilityIndex.getForBook(bookId)).thenReturn(Optional.empty());
+        when(bookRepository.existsById(bookId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> bookInstanceService.getAvailability(bookId));
+    }
+
+    @Test
+    void Should_RecordStatusChange_When_InstanceStatusUpdated() {
+        // Arrange
+        BookInstance bookInstance = createTestBookInstance();
+        UpdateBookInstanceDTO update = new UpdateBookInstanceDTO();
+        update.setStatus(BookInstanceStatus.PROCESSING);
+        when(bookInstanceRepository.findById(bookInstance.getId())).thenReturn(Optional.of(bookInstance));
+        when(bookInstanceRepository.save(any(BookInstance.class))).thenReturn(bookInstance);
+
+        // Act
+        bookInstanceService.updateBookInstance(bookInstance.getId(), update);
+
+        // Assert
+        verify(bookAvailabilityIndex, times(1)).statusChanged(bookInstance,
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.PROCESSING);
+    }
+}
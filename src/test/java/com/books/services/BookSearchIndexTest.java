@@ -0,0 +1,123 @@
+package com.books.services;
+
+import com.books.dto.BookDTO;
+import com.books.entities.Book;
+import com.books.repositories.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private BookSearchIndex bookSearchIndex;
+
+    private Book war;
+    private Book anna;
+    private Book peace;
+
+    private Book createBook(String title, String author) {
+        Book book = new Book();
+        book.setId(UUID.randomUUID());
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setPublicationYear(1869);
+        return book;
+    }
+
+    @BeforeEach
+    void setUp() {
+        war = createBook("Война и мир", "Лев Толстой");
+        anna = createBook("Анна Каренина", "Лев Толстой");
+        peace = createBook("Мир приключений", "Сборник");
+        when(bookRepository.findAll()).thenReturn(List.of(war, anna, peace));
+        bookSearchIndex.rebuild();
+    }
+
+    @Test
+    void Should_RankTitleMatchesFirst_When_TermInTitleAndAuthor() {
+        // Act
+        List<BookDTO> result = bookSearchIndex.search("мир", BookSearchIndex.Field.ALL);
+
+        // Assert
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(book -> book.getTitle().toLowerCase().contains("мир")));
+    }
+
+    @Test
+    void Should_RequireAllTerms_When_QueryHasSeveralWords() {
+        // Act
+        List<BookDTO> result = bookSearchIndex.search("Толстой ВОЙНА", BookSearchIndex.Field.ALL);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(war.getId(), result.get(0).getId());
+    }
+
+    @Test
+    void Should_MatchPrefix_When_WordIsIncomplete() {
+        // Act
+        List<BookDTO> result = bookSearchIndex.search("толст", BookSearchIndex.Field.AUTHOR);
+
+        // Assert
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void Should_RankExactAboveRare_When_ExactAndPrefixMatchesExist() {
+        // Arrange
+        Book mirror = createBook("Мираж", "Автор");
+        bookSearchIndex.index(mirror);
+
+        // Act
+        List<BookDTO> result = bookSearchIndex.search("мир", BookSearchIndex.Field.TITLE);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals(mirror.getId(), result.get(2).getId());
+    }
+
+    @Test
+    void Should_RestrictToField_When_FieldSpecified() {
+        // Act
+        List<BookDTO> result = bookSearchIndex.search("лев", BookSearchIndex.Field.TITLE);
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void Should_ReflectChanges_When_BookUpdatedOrDeleted() {
+        // Arrange
+        anna.setTitle("Анна Каренина. Том 1");
+
+        // Act
+        bookSearchIndex.index(anna);
+        bookSearchIndex.delete(war.getId());
+
+        // Assert
+        assertEquals(1, bookSearchIndex.search("том", BookSearchIndex.Field.TITLE).size());
+        assertTrue(bookSearchIndex.search("война", BookSearchIndex.Field.ALL).isEmpty());
+        assertEquals(2, bookSearchIndex.size());
+    }
+
+    @Test
+    void Should_ReturnEmpty_When_QueryHasNoWords() {
+        // Act & Assert
+        assertTrue(bookSearchIndex.search("  ,. ", BookSearchIndex.Field.ALL).isEmpty());
+        assertTrue(bookSearchIndex.search(null, BookSearchIndex.Field.ALL).isEmpty());
+    }
+}
@@ -1,6 +1,10 @@
 package com.books.services;
 
+import com.books.config.ApplicationConfig;
 import com.books.dto.BookDTO;
+import com.books.dto.BookSearchCriteria;
+import com.books.dto.BookSearchPageDTO;
+import com.books.dto.BookSuggestionDTO;
 import com.books.dto.CreateBookDTO;
 import com.books.dto.UpdateBookDTO;
 import com.books.entities.Book;
@@ -8,10 +12,17 @@ import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.BookRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +37,15 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private BookAutocompleteIndex bookAutocompleteIndex;
+
+    @Mock
+    private ApplicationConfig config;
+
     @InjectMocks
     private BookService bookService;
 
@@ -127,7 +147,8 @@ class BookServiceTest {
     void Should_ReturnBooks_When_BooksWithTitleExist() {
         // Arrange
         Book book = createTestBook();
-        when(bookRepository.findByTitleContainingIgnoreCase("test")).thenReturn(List.of(book));
+        BookDTO hit = new BookDTO(book.getId(), book.getTitle(), book.getAuthor(), book.getPublicationYear());
+        when(bookSearchIndex.search("test", BookSearchIndex.Field.TITLE)).thenReturn(List.of(hit));
 
         // Act
         List<BookDTO> result = bookService.findByTitle("test");
@@ -135,20 +156,21 @@ class BookServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals("Test Book", result.get(0).getTitle());
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("test");
+        verify(bookSearchIndex, times(1)).search("test", BookSearchIndex.Field.TITLE);
+        verify(bookRepository, never()).findByTitleContainingIgnoreCase(anyString());
     }
 
     @Test
     void Should_ReturnEmptyList_When_NoBooksWithTitleExist() {
         // Arrange
-        when(bookRepository.findByTitleContainingIgnoreCase("nonexistent")).thenReturn(List.of());
+        when(bookSearchIndex.search("nonexistent", BookSearchIndex.Field.TITLE)).thenReturn(List.of());
 
         // Act
         List<BookDTO> result = bookService.findByTitle("nonexistent");
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("nonexistent");
+        verify(bookSearchIndex, times(1)).search("nonexistent", BookSearchIndex.Field.TITLE);
     }
 
     // Тесты для createBook()
@@ -172,6 +194,8 @@ class BookServiceTest {
         assertEquals("New Author", result.getAuthor());
         assertEquals(2024, result.getPublicationYear());
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(bookSearchIndex, times(1)).index(savedBook);
+        verify(bookAutocompleteIndex, times(1)).index(savedBook);
     }
 
     // Тесты для updateBook()
@@ -194,6 +218,7 @@ class BookServiceTest {
         assertNotNull(result);
         verify(bookRepository, times(1)).findById(bookId);
         verify(bookRepository, times(1)).save(existingBook);
+        verify(bookSearchIndex, times(1)).index(existingBook);
     }
 
     @Test
@@ -252,6 +277,8 @@ class BookServiceTest {
         // Assert
         verify(bookRepository, times(1)).findById(bookId);
         verify(bookRepository, times(1)).delete(book);
+        verify(bookSearchIndex, times(1)).delete(bookId);
+        verify(bookAutocompleteIndex, times(1)).delete(bookId);
     }
 
     @Test
@@ -267,71 +294,141 @@ class BookServiceTest {
 
         verify(bookRepository, times(1)).findById(nonExistentId);
         verify(bookRepository, never()).delete(any(Book.class));
+        verify(bookSearchIndex, never()).delete(any());
     }
 
     // Тесты для searchBooks()
     @Test
-    void Should_SearchByTitle_When_TitleProvided() {
+    void Should_CombineAllFilters_When_SeveralCriteriaProvided() {
         // Arrange
         Book book = createTestBook();
-        when(bookRepository.findByTitleContainingIgnoreCase("test")).thenReturn(List.of(book));
+        BookSearchCriteria criteria = new BookSearchCriteria("test", "author", 2000, 2024, UUID.randomUUID(), true);
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(book), PageRequest.of(0, 10), 1));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks("test", null, null);
+        BookSearchPageDTO result = bookService.searchBooks(criteria, 0, 10, "publicationYear", "desc");
 
         // Assert
-        assertEquals(1, result.size());
-        verify(bookRepository, times(1)).findByTitleContainingIgnoreCase("test");
-        verify(bookRepository, never()).findByAuthorContainingIgnoreCase(anyString());
-        verify(bookRepository, never()).findByPublicationYear(anyInt());
+        assertEquals(1, result.getTotal());
+        assertEquals(book.getId(), result.getItems().get(0).getId());
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookRepository, times(1)).findAll(any(Specification.class), pageable.capture());
+        assertEquals(10, pageable.getValue().getPageSize());
+        assertEquals(Sort.Direction.DESC, pageable.getValue().getSort().getOrderFor("publicationYear").getDirection());
+        assertNotNull(pageable.getValue().getSort().getOrderFor("id"));
+        verifyNoInteractions(bookSearchIndex);
     }
 
     @Test
-    void Should_SearchByAuthor_When_AuthorProvided() {
+    void Should_SkipDatabase_When_TitleFilterHasNoWords() {
         // Arrange
-        Book book = createTestBook();
-        when(bookRepository.findByAuthorContainingIgnoreCase("author")).thenReturn(List.of(book));
+        BookSearchCriteria criteria = new BookSearchCriteria(" ,. ", null, null, null, null, null);
+        when(config.getDefaultPageSize()).thenReturn(50);
+        when(config.getMaxPageSize()).thenReturn(500);
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, "author", null);
+        BookSearchPageDTO result = bookService.searchBooks(criteria, null, null, null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        verify(bookRepository, times(1)).findByAuthorContainingIgnoreCase("author");
-        verify(bookRepository, never()).findByTitleContainingIgnoreCase(anyString());
-        verify(bookRepository, never()).findByPublicationYear(anyInt());
+        assertTrue(result.getItems().isEmpty());
+        assertEquals(0, result.getTotal());
+        verify(bookRepository, never()).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
-    void Should_SearchByYear_When_YearProvided() {
+    void Should_QueryWithoutIndex_When_OnlyStructuredFiltersProvided() {
         // Arrange
         Book book = createTestBook();
-        when(bookRepository.findByPublicationYear(2023)).thenReturn(List.of(book));
+        BookSearchCriteria criteria = new BookSearchCriteria(null, null, 2023, 2023, null, null);
+        when(config.getDefaultPageSize()).thenReturn(50);
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(bookRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(book)));
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, null, 2023);
+        BookSearchPageDTO result = bookService.searchBooks(criteria, null, null, null, null);
 
         // Assert
-        assertEquals(1, result.size());
-        verify(bookRepository, times(1)).findByPublicationYear(2023);
-        verify(bookRepository, never()).findByTitleContainingIgnoreCase(anyString());
-        verify(bookRepository, never()).findByAuthorContainingIgnoreCase(anyString());
+        assertEquals(1, result.getItems().size());
+        assertEquals(50, result.getSize());
+        verifyNoInteractions(bookSearchIndex);
     }
 
     @Test
-    void Should_ReturnAllBooks_When_NoSearchCriteriaProvided() {
+    void Should_ThrowIllegalArgumentException_When_SortFieldUnknown() {
         // Arrange
-        Book book = createTestBook();
-        when(bookRepository.findAll()).thenReturn(List.of(book));
+        when(config.getDefaultPageSize()).thenReturn(50);
+        when(config.getMaxPageSize()).thenReturn(500);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.searchBooks(new BookSearchCriteria(), null, null, "password", null));
+        verify(bookRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_YearRangeInverted() {
+        // Arrange
+        when(config.getDefaultPageSize()).thenReturn(50);
+        when(config.getMaxPageSize()).thenReturn(500);
+        BookSearchCriteria criteria = new BookSearchCriteria(null, null, 2024, 2000, null, null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.searchBooks(criteria, null, null, null, null));
+    }
+
+    // Тесты для fullTextSearch()
+    @Test
+    void Should_ReturnRequestedPage_When_FullTextSearch() {
+        // Arrange
+        List<BookDTO> ranked = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ranked.add(new BookDTO(UUID.randomUUID(), "Книга " + i, "Автор", 2020));
+        }
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(bookSearchIndex.search("книга", BookSearchIndex.Field.ALL)).thenReturn(ranked);
 
         // Act
-        List<BookDTO> result = bookService.searchBooks(null, null, null);
+        BookSearchPageDTO result = bookService.fullTextSearch("книга", 1, 2);
 
         // Assert
-        assertEquals(1, result.size());
-        verify(bookRepository, times(1)).findAll();
-        verify(bookRepository, never()).findByTitleContainingIgnoreCase(anyString());
-        verify(bookRepository, never()).findByAuthorContainingIgnoreCase(anyString());
-        verify(bookRepository, never()).findByPublicationYear(anyInt());
+        assertEquals(5, result.getTotal());
+        assertEquals(List.of(ranked.get(2), ranked.get(3)), result.getItems());
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_FullTextPageSizeTooLarge() {
+        // Arrange
+        when(config.getMaxPageSize()).thenReturn(500);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.fullTextSearch("книга", 0, 501));
+        verifyNoInteractions(bookSearchIndex);
+    }
+
+    // Тесты для autocomplete()
+    @Test
+    void Should_ReturnSuggestionsFromIndex_When_PrefixProvided() {
+        // Arrange
+        List<BookSuggestionDTO> suggestions = List.of(new BookSuggestionDTO("Test Book", "TITLE", 1));
+        when(bookAutocompleteIndex.suggest("tes", 10)).thenReturn(suggestions);
+
+        // Act
+        List<BookSuggestionDTO> result = bookService.autocomplete("tes", null);
+
+        // Assert
+        assertEquals(suggestions, result);
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_SuggestionLimitTooLarge() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.autocomplete("tes", 51));
+        verifyNoInteractions(bookAutocompleteIndex);
     }
-}
\ No newline at end of file
+}
@@ -5,8 +5,12 @@ import com.books.entities.Book;
 import com.books.entities.BookInstance;
 import com.books.entities.Order;
 import com.books.entities.User;
+import com.books.notifications.EmailServiceAdapter;
 import com.books.notifications.Notification;
+import com.books.notifications.NotificationBatcher;
+import com.books.notifications.NotificationDispatcher;
 import com.books.notifications.NotificationFactory;
+import com.books.notifications.SMSServiceAdapter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,7 +18,9 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +29,12 @@ class NotificationServiceTest {
     @Mock
     private ApplicationConfig config;
 
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private NotificationBatcher notificationBatcher;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -64,34 +76,26 @@ class NotificationServiceTest {
             notificationService.sendOrderCreatedNotification(order);
 
             // Assert
-            verify(mockNotification, times(1)).send();
+            verify(notificationDispatcher, times(1)).dispatch(mockNotification);
         }
     }
 
     // Тесты для sendOverdueNotification()
     @Test
-    void Should_SendEmailAndSms_When_UserHasPhone() {
+    void Should_SendEmailAndSmsThroughBatcher_When_UserHasPhone() {
         // Arrange
         Order order = createTestOrder();
 
-        try (MockedStatic<NotificationFactory> notificationFactory = mockStatic(NotificationFactory.class)) {
-            Notification mockEmailNotification = mock(Notification.class);
-            Notification mockSmsNotification = mock(Notification.class);
-
-            notificationFactory.when(() ->
-                            NotificationFactory.createEmailNotification(anyString(), anyString(), anyString()))
-                    .thenReturn(mockEmailNotification);
-            notificationFactory.when(() ->
-                            NotificationFactory.createSMSNotification(anyString(), anyString()))
-                    .thenReturn(mockSmsNotification);
-
-            // Act
-            notificationService.sendOverdueNotification(order);
+        // Act
+        notificationService.sendOverdueNotification(order);
 
-            // Assert
-            verify(mockEmailNotification, times(1)).send();
-            verify(mockSmsNotification, times(1)).send();
-        }
+        // Assert
+        verify(notificationDispatcher, times(1)).dispatch(argThat((Notification notification) ->
+                notification instanceof EmailServiceAdapter && "test@example.com".equals(notification.getRecipient())));
+        verify(notificationDispatcher, times(1)).dispatch(argThat((Notification notification) ->
+                notification instanceof SMSServiceAdapter && "+1234567890".equals(notification.getRecipient())));
+        // Отправка идёт пачками, когда диспетчер вызовет уведомление
+        verifyNoInteractions(notificationBatcher);
     }
 
     @Test
@@ -100,22 +104,13 @@ class NotificationServiceTest {
         Order order = createTestOrder();
         order.getUser().setPhone(null); // No phone
 
-        try (MockedStatic<NotificationFactory> notificationFactory = mockStatic(NotificationFactory.class)) {
-            Notification mockEmailNotification = mock(Notification.class);
-
-            notificationFactory.when(() ->
-                            NotificationFactory.createEmailNotification(anyString(), anyString(), anyString()))
-                    .thenReturn(mockEmailNotification);
-
-            // Act
-            notificationService.sendOverdueNotification(order);
+        // Act
+        notificationService.sendOverdueNotification(order);
 
-            // Assert
-            verify(mockEmailNotification, times(1)).send();
-            // SMS should not be created or sent
-            notificationFactory.verify(() ->
-                    NotificationFactory.createSMSNotification(anyString(), anyString()), never());
-        }
+        // Assert
+        verify(notificationDispatcher, times(1)).dispatch(any(Notification.class));
+        verify(notificationDispatcher, times(1)).dispatch(argThat((Notification notification) ->
+                notification instanceof EmailServiceAdapter));
     }
 
     // Тесты для sendBookAvailableNotification()
@@ -135,7 +130,7 @@ class NotificationServiceTest {
             notificationService.sendBookAvailableNotification(user, bookTitle);
 
             // Assert
-            verify(mockNotification, times(1)).send();
+            verify(notificationDispatcher, times(1)).dispatch(mockNotification);
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.books.services;
 
+import com.books.config.ApplicationConfig;
 import com.books.dto.OrderAuditDTO;
+import com.books.dto.OrderAuditPageDTO;
 import com.books.entities.AuditOperation;
 import com.books.entities.Order;
 import com.books.entities.OrderAudit;
@@ -14,6 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +26,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +41,12 @@ class OrderAuditServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private AuditArchiveService auditArchiveService;
+
+    @Mock
+    private ApplicationConfig config;
+
     @InjectMocks
     private OrderAuditService orderAuditService;
 
@@ -218,4 +229,89 @@ class OrderAuditServiceTest {
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderAuditRepository, times(1)).findByOrderAndOperation(order, AuditOperation.ORDER);
     }
-}
\ No newline at end of file
+
+    // Тесты для findPage()
+    @Test
+    void Should_ReturnUserAuditPageStartingAtFrom_When_NoCursorGiven() {
+        // Arrange
+        UUID userId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        LocalDateTime to = LocalDateTime.now();
+        OrderAuditDTO first = new OrderAuditDTO(UUID.randomUUID(), from.plusHours(1), null, userId,
+                "Test User", AuditOperation.ORDER, null, "created", UUID.randomUUID());
+        OrderAuditDTO second = new OrderAuditDTO(UUID.randomUUID(), from.plusHours(2), null, userId,
+                "Test User", AuditOperation.CANCEL, "CREATED", "CANCELLED", UUID.randomUUID());
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(auditArchiveService.getArchiveBoundary()).thenReturn(from.minusMonths(1));
+        when(orderAuditRepository.findPageByUserId(userId, from, new UUID(0L, 0L), to, PageRequest.ofSize(2)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        OrderAuditPageDTO result = orderAuditService.findPage(null, userId, null, from, to, null, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertNotNull(result.getNextCursor());
+        verify(orderAuditRepository, never()).findByUser(any(User.class));
+        verify(orderAuditRepository, never()).findPage(any(), any(), any(), any(Pageable.class));
+        verify(auditArchiveService, never()).findArchived(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void Should_ContinueAfterCursor_When_CursorGiven() {
+        // Arrange
+        OrderAuditDTO last = new OrderAuditDTO(UUID.randomUUID(), LocalDateTime.now().minusHours(1), null,
+                UUID.randomUUID(), "Test User", AuditOperation.ORDER, null, "created", UUID.randomUUID());
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(auditArchiveService.getArchiveBoundary()).thenReturn(LocalDateTime.now().minusMonths(12));
+        when(orderAuditRepository.findPageByOperation(eq(AuditOperation.ORDER), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(last))
+                .thenReturn(List.of());
+        String cursor = orderAuditService.findPage(null, null, AuditOperation.ORDER, null, null, null, 1).getNextCursor();
+
+        // Act
+        OrderAuditPageDTO result = orderAuditService.findPage(null, null, AuditOperation.ORDER, null, null, cursor, 1);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(orderAuditRepository, times(1)).findPageByOperation(eq(AuditOperation.ORDER),
+                eq(last.getCreatedAt()), eq(last.getId()), any(), eq(PageRequest.ofSize(1)));
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_SeveralFiltersGiven() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderAuditService.findPage(UUID.randomUUID(), UUID.randomUUID(), null, null, null, null, 10);
+        });
+        verifyNoInteractions(orderAuditRepository);
+    }
+
+    @Test
+    void Should_MergeArchiveAndHotTable_When_PeriodCrossesRetentionHorizon() {
+        // Arrange
+        LocalDateTime boundary = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime from = boundary.minusDays(2);
+        UUID orderId = UUID.randomUUID();
+        OrderAuditDTO archivedFirst = new OrderAuditDTO(UUID.randomUUID(), from.plusHours(1), null, UUID.randomUUID(),
+                "Test User", AuditOperation.ORDER, null, "archived 1", orderId);
+        OrderAuditDTO archivedSecond = new OrderAuditDTO(UUID.randomUUID(), from.plusHours(2), null, UUID.randomUUID(),
+                "Test User", AuditOperation.UPDATE, null, "archived 2", orderId);
+        OrderAuditDTO hot = new OrderAuditDTO(UUID.randomUUID(), boundary.plusHours(1), null, UUID.randomUUID(),
+                "Test User", AuditOperation.RETURN, null, "hot", orderId);
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(auditArchiveService.getArchiveBoundary()).thenReturn(boundary);
+        when(orderAuditRepository.findPageByOrderId(eq(orderId), eq(from), any(), any(), eq(PageRequest.ofSize(2))))
+                .thenReturn(List.of(hot));
+        when(auditArchiveService.findArchived(any(KeysetCursor.class), eq(boundary), any(), eq(2)))
+                .thenReturn(List.of(archivedFirst, archivedSecond));
+
+        // Act
+        OrderAuditPageDTO result = orderAuditService.findPage(orderId, null, null, from, null, null, 2);
+
+        // Assert: архивные записи идут первыми, страница обрезана по размеру, курсор указывает на последнюю
+        assertEquals(List.of(archivedFirst, archivedSecond), result.getItems());
+        assertEquals(new KeysetCursor(archivedSecond.getCreatedAt(), archivedSecond.getId()).encode(), result.getNextCursor());
+    }
+}
@@ -0,0 +1,129 @@
+package com.books.services;
+
+import com.books.dto.CreateOrderDTO;
+import com.books.entities.*;
+import com.books.repositories.BookInstanceRepository;
+import com.books.repositories.BookRepository;
+import com.books.repositories.LibraryRepository;
+import com.books.repositories.OrderRepository;
+import com.books.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Гонка за один экземпляр на реальной БД: условный UPDATE ... WHERE status = 'AVAILABLE'
+// должен пропустить ровно один из параллельных запросов
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-concurrency;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop"})
+@ActiveProfiles("stub")
+class OrderConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookInstanceRepository bookInstanceRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LibraryRepository libraryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<User> users;
+    private BookInstance bookInstance;
+
+    @BeforeEach
+    void setUp() {
+        Library library = new Library();
+        library.setName("Central Library");
+        library.setAddress("Main St 1");
+        library = libraryRepository.save(library);
+
+        Book book = new Book();
+        book.setTitle("Война и мир");
+        book.setAuthor("Лев Толстой");
+        book = bookRepository.save(book);
+
+        bookInstance = new BookInstance();
+        bookInstance.setBook(book);
+        bookInstance.setLibrary(library);
+        bookInstance.setStatus(BookInstanceStatus.AVAILABLE);
+        bookInstance = bookInstanceRepository.save(bookInstance);
+
+        users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            User user = new User();
+            user.setFullName("Reader " + i);
+            user.setEmail("reader-" + bookInstance.getId() + "-" + i + "@example.com");
+            user.setPassword("password");
+            user.setRole(UserRole.READER);
+            user.setStatus(UserStatus.ACTIVE);
+            users.add(userRepository.save(user));
+        }
+    }
+
+    @Test
+    void Should_ReserveInstanceOnlyOnce_When_ManyThreadsOrderSameInstance() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Act
+        for (User user : users) {
+            CreateOrderDTO createDTO = new CreateOrderDTO(user.getId(), bookInstance.getId(),
+                    null, LocalDateTime.now().plusDays(14));
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(createDTO);
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1, succeeded.get());
+        assertEquals(THREADS - 1, rejected.get());
+        assertEquals(1, orderRepository.findAll().stream()
+                .filter(order -> order.getBookInstance().getId().equals(bookInstance.getId()))
+                .count());
+        assertEquals(BookInstanceStatus.RESERVED,
+                bookInstanceRepository.findById(bookInstance.getId()).orElseThrow().getStatus());
+    }
+}
@@ -2,9 +2,13 @@ package com.books.services;
 
 import com.books.builders.OrderBuilder;
 import com.books.config.ApplicationConfig;
+import com.books.dto.BulkOrderResultDTO;
+import com.books.dto.CreateAnyCopyOrderDTO;
 import com.books.dto.CreateOrderDTO;
 import com.books.dto.OrderDTO;
+import com.books.dto.OrderPageDTO;
 import com.books.dto.UpdateOrderDTO;
+import com.books.dto.UserOrderCountDTO;
 import com.books.entities.*;
 import com.books.exceptions.EntityNotFoundException;
 import com.books.repositories.BookInstanceRepository;
@@ -15,14 +19,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +48,15 @@ class OrderServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private ReservationExpiryService reservationExpiryService;
+
+    @Mock
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
+    @Mock
+    private OrderStatusMetrics orderStatusMetrics;
+
     @Mock
     private ApplicationConfig config;
 
@@ -89,6 +106,25 @@ class OrderServiceTest {
         return order;
     }
 
+    private OrderDTO createTestOrderDTO(Order order) {
+        return new OrderDTO(
+                order.getId(),
+                order.getUser().getId(),
+                order.getUser().getFullName(),
+                order.getBookInstance().getId(),
+                order.getBookInstance().getBook().getTitle(),
+                order.getBookInstance().getBook().getAuthor(),
+                order.getBookInstance().getLibrary().getId(),
+                order.getBookInstance().getLibrary().getName(),
+                order.getCreatedAt(),
+                order.getReservationDeadline(),
+                order.getActualIssueDate(),
+                order.getExpectedReturnDate(),
+                order.getActualReturnDate(),
+                order.getStatus()
+        );
+    }
+
     private CreateOrderDTO createTestCreateOrderDTO() {
         CreateOrderDTO dto = new CreateOrderDTO();
         dto.setUserId(UUID.randomUUID());
@@ -102,28 +138,84 @@ class OrderServiceTest {
     @Test
     void Should_ReturnAllOrders_When_OrdersExist() {
         // Arrange
-        Order order = createTestOrder();
-        when(orderRepository.findAll()).thenReturn(List.of(order));
+        OrderDTO order = createTestOrderDTO(createTestOrder());
+        when(orderRepository.findAllDTOs()).thenReturn(List.of(order));
 
         // Act
         List<OrderDTO> result = orderService.findAll();
 
         // Assert
         assertEquals(1, result.size());
-        verify(orderRepository, times(1)).findAll();
+        verify(orderRepository, times(1)).findAllDTOs();
+        verify(orderRepository, never()).findAll();
     }
 
     @Test
     void Should_ReturnEmptyList_When_NoOrdersExist() {
         // Arrange
-        when(orderRepository.findAll()).thenReturn(List.of());
+        when(orderRepository.findAllDTOs()).thenReturn(List.of());
 
         // Act
         List<OrderDTO> result = orderService.findAll();
 
         // Assert
         assertTrue(result.isEmpty());
-        verify(orderRepository, times(1)).findAll();
+        verify(orderRepository, times(1)).findAllDTOs();
+    }
+
+    // Тесты для findPage()
+    @Test
+    void Should_ReturnFirstPageWithCursor_When_PageIsFull() {
+        // Arrange
+        Order firstOrder = createTestOrder();
+        firstOrder.setCreatedAt(LocalDateTime.now().minusDays(1));
+        OrderDTO first = createTestOrderDTO(firstOrder);
+        Order secondOrder = createTestOrder();
+        secondOrder.setCreatedAt(LocalDateTime.now());
+        OrderDTO second = createTestOrderDTO(secondOrder);
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(orderRepository.findFirstPage(any(Pageable.class))).thenReturn(List.of(first, second));
+
+        // Act
+        OrderPageDTO result = orderService.findPage(null, 2);
+
+        // Assert
+        assertEquals(2, result.getItems().size());
+        assertNotNull(result.getNextCursor());
+        verify(orderRepository, never()).findPageAfter(any(), any(), any());
+    }
+
+    @Test
+    void Should_ContinueAfterCursor_When_CursorProvided() {
+        // Arrange
+        Order lastOrder = createTestOrder();
+        lastOrder.setCreatedAt(LocalDateTime.now());
+        OrderDTO last = createTestOrderDTO(lastOrder);
+        when(config.getMaxPageSize()).thenReturn(500);
+        when(orderRepository.findFirstPage(any(Pageable.class))).thenReturn(List.of(last));
+        String cursor = orderService.findPage(null, 1).getNextCursor();
+        when(orderRepository.findPageAfter(last.getCreatedAt(), last.getId(), PageRequest.ofSize(1)))
+                .thenReturn(List.of());
+
+        // Act
+        OrderPageDTO result = orderService.findPage(cursor, 1);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(orderRepository, times(1)).findPageAfter(last.getCreatedAt(), last.getId(), PageRequest.ofSize(1));
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_PageSizeTooLarge() {
+        // Arrange
+        when(config.getMaxPageSize()).thenReturn(500);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            orderService.findPage(null, 501);
+        });
+        verify(orderRepository, never()).findFirstPage(any(Pageable.class));
     }
 
     // Тесты для findById()
@@ -133,7 +225,7 @@ class OrderServiceTest {
         UUID orderId = UUID.randomUUID();
         Order order = createTestOrder();
         order.setId(orderId);
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailedById(orderId)).thenReturn(Optional.of(order));
 
         // Act
         OrderDTO result = orderService.findById(orderId);
@@ -141,20 +233,20 @@ class OrderServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(orderId, result.getId());
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailedById(orderId);
     }
 
     @Test
     void Should_ThrowEntityNotFoundException_When_OrderWithIdNotFound() {
         // Arrange
         UUID nonExistentId = UUID.randomUUID();
-        when(orderRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(orderRepository.findDetailedById(nonExistentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
             orderService.findById(nonExistentId);
         });
-        verify(orderRepository, times(1)).findById(nonExistentId);
+        verify(orderRepository, times(1)).findDetailedById(nonExistentId);
     }
 
     // Тесты для findByUserId()
@@ -162,42 +254,40 @@ class OrderServiceTest {
     void Should_ReturnOrders_When_UserExistsAndHasOrders() {
         // Arrange
         UUID userId = UUID.randomUUID();
-        User user = createTestUser();
-        user.setId(userId);
-        Order order = createTestOrder();
+        OrderDTO order = createTestOrderDTO(createTestOrder());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(orderRepository.findByUser(user)).thenReturn(List.of(order));
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(orderRepository.findDTOsByUserId(userId)).thenReturn(List.of(order));
 
         // Act
         List<OrderDTO> result = orderService.findByUserId(userId);
 
         // Assert
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).findById(userId);
-        verify(orderRepository, times(1)).findByUser(user);
+        verify(userRepository, times(1)).existsById(userId);
+        verify(orderRepository, times(1)).findDTOsByUserId(userId);
     }
 
     @Test
     void Should_ThrowEntityNotFoundException_When_UserNotFound() {
         // Arrange
         UUID nonExistentUserId = UUID.randomUUID();
-        when(userRepository.findById(nonExistentUserId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(nonExistentUserId)).thenReturn(false);
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> {
             orderService.findByUserId(nonExistentUserId);
         });
-        verify(userRepository, times(1)).findById(nonExistentUserId);
-        verify(orderRepository, never()).findByUser(any(User.class));
+        verify(userRepository, times(1)).existsById(nonExistentUserId);
+        verify(orderRepository, never()).findDTOsByUserId(any(UUID.class));
     }
 
     // Тесты для findByStatus()
     @Test
     void Should_ReturnOrders_When_OrdersWithStatusExist() {
         // Arrange
-        Order order = createTestOrder();
-        when(orderRepository.findByStatus(OrderStatus.CREATED)).thenReturn(List.of(order));
+        OrderDTO order = createTestOrderDTO(createTestOrder());
+        when(orderRepository.findDTOsByStatus(OrderStatus.CREATED)).thenReturn(List.of(order));
 
         // Act
         List<OrderDTO> result = orderService.findByStatus(OrderStatus.CREATED);
@@ -205,7 +295,7 @@ class OrderServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals(OrderStatus.CREATED, result.get(0).getStatus());
-        verify(orderRepository, times(1)).findByStatus(OrderStatus.CREATED);
+        verify(orderRepository, times(1)).findDTOsByStatus(OrderStatus.CREATED);
     }
 
     // Тесты для findActiveByUserId()
@@ -213,12 +303,10 @@ class OrderServiceTest {
     void Should_ReturnActiveOrders_When_UserHasActiveOrders() {
         // Arrange
         UUID userId = UUID.randomUUID();
-        User user = createTestUser();
-        user.setId(userId);
-        Order activeOrder = createTestOrder();
+        OrderDTO activeOrder = createTestOrderDTO(createTestOrder());
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(orderRepository.findByUserAndStatusIn(any(User.class), any(List.class)))
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(orderRepository.findDTOsByUserIdAndStatusIn(eq(userId), any(List.class)))
                 .thenReturn(List.of(activeOrder));
 
         // Act
@@ -226,8 +314,8 @@ class OrderServiceTest {
 
         // Assert
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).findById(userId);
-        verify(orderRepository, times(1)).findByUserAndStatusIn(any(User.class), any(List.class));
+        verify(userRepository, times(1)).existsById(userId);
+        verify(orderRepository, times(1)).findDTOsByUserIdAndStatusIn(eq(userId), any(List.class));
     }
 
     // Тесты для createOrder()
@@ -242,8 +330,9 @@ class OrderServiceTest {
         Order savedOrder = createTestOrder();
 
         when(userRepository.findById(createDTO.getUserId())).thenReturn(Optional.of(user));
+        when(bookInstanceRepository.compareAndSetStatus(createDTO.getBookInstanceId(),
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED)).thenReturn(1);
         when(bookInstanceRepository.findById(createDTO.getBookInstanceId())).thenReturn(Optional.of(bookInstance));
-        when(bookInstanceRepository.save(any(BookInstance.class))).thenReturn(bookInstance);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Act
@@ -252,8 +341,10 @@ class OrderServiceTest {
         // Assert
         assertNotNull(result);
         verify(userRepository, times(1)).findById(createDTO.getUserId());
+        verify(bookInstanceRepository, times(1)).compareAndSetStatus(createDTO.getBookInstanceId(),
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
         verify(bookInstanceRepository, times(1)).findById(createDTO.getBookInstanceId());
-        verify(bookInstanceRepository, times(1)).save(bookInstance);
+        verify(bookInstanceRepository, never()).save(any(BookInstance.class));
         verify(orderRepository, times(1)).save(any(Order.class));
         verify(auditService, times(1)).logOrderOperation(any(User.class), any(Order.class), any(AuditOperation.class), any(), any());
     }
@@ -269,6 +360,7 @@ class OrderServiceTest {
             orderService.createOrder(createDTO);
         });
         verify(userRepository, times(1)).findById(createDTO.getUserId());
+        verify(bookInstanceRepository, never()).compareAndSetStatus(any(), any(), any());
         verify(bookInstanceRepository, never()).findById(any(UUID.class));
         verify(orderRepository, never()).save(any(Order.class));
     }
@@ -279,12 +371,11 @@ class OrderServiceTest {
         CreateOrderDTO createDTO = createTestCreateOrderDTO();
         User user = createTestUser();
         user.setId(createDTO.getUserId());
-        BookInstance bookInstance = createTestBookInstance();
-        bookInstance.setId(createDTO.getBookInstanceId());
-        bookInstance.setStatus(BookInstanceStatus.RESERVED); // Not available
 
         when(userRepository.findById(createDTO.getUserId())).thenReturn(Optional.of(user));
-        when(bookInstanceRepository.findById(createDTO.getBookInstanceId())).thenReturn(Optional.of(bookInstance));
+        when(bookInstanceRepository.compareAndSetStatus(createDTO.getBookInstanceId(),
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED)).thenReturn(0); // Not available
+        when(bookInstanceRepository.existsById(createDTO.getBookInstanceId())).thenReturn(true);
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
@@ -293,8 +384,26 @@ class OrderServiceTest {
 
         assertEquals("Экземпляр книги недоступен для заказа", exception.getMessage());
         verify(userRepository, times(1)).findById(createDTO.getUserId());
-        verify(bookInstanceRepository, times(1)).findById(createDTO.getBookInstanceId());
-        verify(bookInstanceRepository, never()).save(any(BookInstance.class));
+        verify(bookInstanceRepository, never()).findById(any(UUID.class));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void Should_ThrowEntityNotFoundException_When_BookInstanceNotFoundDuringCreation() {
+        // Arrange
+        CreateOrderDTO createDTO = createTestCreateOrderDTO();
+        User user = createTestUser();
+        user.setId(createDTO.getUserId());
+
+        when(userRepository.findById(createDTO.getUserId())).thenReturn(Optional.of(user));
+        when(bookInstanceRepository.compareAndSetStatus(createDTO.getBookInstanceId(),
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED)).thenReturn(0);
+        when(bookInstanceRepository.existsById(createDTO.getBookInstanceId())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> {
+            orderService.createOrder(createDTO);
+        });
         verify(orderRepository, never()).save(any(Order.class));
     }
 
@@ -310,11 +419,12 @@ class OrderServiceTest {
         Order savedOrder = createTestOrder();
 
         when(userRepository.findById(createDTO.getUserId())).thenReturn(Optional.of(user));
+        when(bookInstanceRepository.compareAndSetStatus(createDTO.getBookInstanceId(),
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED)).thenReturn(1);
         when(bookInstanceRepository.findById(createDTO.getBookInstanceId())).thenReturn(Optional.of(bookInstance));
-        when(orderRepository.findByUserAndStatusIn(any(User.class), any(List.class))).thenReturn(List.of());
+        when(orderRepository.countByUserAndStatusIn(any(User.class), any(List.class))).thenReturn(0L);
         when(config.getMaxActiveOrdersPerUser()).thenReturn(5);
         when(config.getReservationPeriodDays()).thenReturn(7);
-        when(bookInstanceRepository.save(any(BookInstance.class))).thenReturn(bookInstance);
         when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
         // Act
@@ -324,9 +434,12 @@ class OrderServiceTest {
         assertNotNull(result);
         verify(userRepository, times(1)).findById(createDTO.getUserId());
         verify(bookInstanceRepository, times(1)).findById(createDTO.getBookInstanceId());
-        verify(orderRepository, times(1)).findByUserAndStatusIn(any(User.class), any(List.class));
-        verify(bookInstanceRepository, times(1)).save(bookInstance);
+        verify(orderRepository, times(1)).countByUserAndStatusIn(any(User.class), any(List.class));
+        verify(orderRepository, never()).findByUserAndStatusIn(any(User.class), any(List.class));
+        verify(bookInstanceRepository, times(1)).compareAndSetStatus(createDTO.getBookInstanceId(),
+                BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(reservationExpiryService, times(1)).track(savedOrder.getId(), savedOrder.getReservationDeadline());
         verify(auditService, times(1)).logOrderOperation(any(User.class), any(Order.class), any(AuditOperation.class), any(), any());
     }
 
@@ -336,13 +449,9 @@ class OrderServiceTest {
         CreateOrderDTO createDTO = createTestCreateOrderDTO();
         User user = createTestUser();
         user.setId(createDTO.getUserId());
-        BookInstance bookInstance = createTestBookInstance();
-        bookInstance.setId(createDTO.getBookInstanceId());
-        List<Order> activeOrders = List.of(createTestOrder(), createTestOrder(), createTestOrder()); // 3 active orders
 
         when(userRepository.findById(createDTO.getUserId())).thenReturn(Optional.of(user));
-        when(bookInstanceRepository.findById(createDTO.getBookInstanceId())).thenReturn(Optional.of(bookInstance));
-        when(orderRepository.findByUserAndStatusIn(any(User.class), any(List.class))).thenReturn(activeOrders);
+        when(orderRepository.countByUserAndStatusIn(any(User.class), any(List.class))).thenReturn(3L); // 3 active orders
         when(config.getMaxActiveOrdersPerUser()).thenReturn(2); // Limit is 2
 
         // Act & Assert
@@ -352,12 +461,181 @@ class OrderServiceTest {
 
         assertTrue(exception.getMessage().contains("Превышено максимальное количество активных заказов"));
         verify(userRepository, times(1)).findById(createDTO.getUserId());
-        verify(bookInstanceRepository, times(1)).findById(createDTO.getBookInstanceId());
-        verify(orderRepository, times(1)).findByUserAndStatusIn(any(User.class), any(List.class));
-        verify(bookInstanceRepository, never()).save(any(BookInstance.class));
+        verify(orderRepository, times(1)).countByUserAndStatusIn(any(User.class), any(List.class));
+        verify(orderRepository, never()).findByUserAndStatusIn(any(User.class), any(List.class));
+        verify(bookInstanceRepository, never()).compareAndSetStatus(any(), any(), any());
         verify(orderRepository, never()).save(any(Order.class));
     }
 
+    // Тесты для createOrderForAnyCopy()
+    @Test
+    void Should_ReserveFirstFreeCopy_When_CopyAvailableInLibrary() {
+        // Arrange
+        User user = createTestUser();
+        BookInstance bookInstance = createTestBookInstance();
+        CreateAnyCopyOrderDTO createDTO = new CreateAnyCopyOrderDTO(user.getId(),
+                bookInstance.getBook().getId(), bookInstance.getLibrary().getId(), LocalDateTime.now().plusDays(14));
+        Order savedOrder = createTestOrder();
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(orderRepository.countByUserAndStatusIn(any(User.class), any(List.class))).thenReturn(0L);
+        when(config.getMaxActiveOrdersPerUser()).thenReturn(5);
+        when(config.getReservationPeriodDays()).thenReturn(7);
+        when(bookInstanceRepository.lockFirstAvailable(createDTO.getBookId(), createDTO.getLibraryId()))
+                .thenReturn(Optional.of(bookInstance));
+        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+        // Act
+        OrderDTO result = orderService.createOrderForAnyCopy(createDTO);
+
+        // Assert
+        assertNotNull(result);
+        assertEquals(BookInstanceStatus.RESERVED, bookInstance.getStatus());
+        verify(bookInstanceRepository, times(1)).lockFirstAvailable(createDTO.getBookId(), createDTO.getLibraryId());
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(auditService, times(1)).logOrderOperation(any(User.class), any(Order.class), any(AuditOperation.class), any(), any());
+    }
+
+    @Test
+    void Should_ThrowRuntimeException_When_NoFreeCopyInLibrary() {
+        // Arrange
+        User user = createTestUser();
+        CreateAnyCopyOrderDTO createDTO = new CreateAnyCopyOrderDTO(user.getId(),
+                UUID.randomUUID(), UUID.randomUUID(), LocalDateTime.now().plusDays(14));
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(orderRepository.countByUserAndStatusIn(any(User.class), any(List.class))).thenReturn(0L);
+        when(config.getMaxActiveOrdersPerUser()).thenReturn(5);
+        when(bookInstanceRepository.lockFirstAvailable(createDTO.getBookId(), createDTO.getLibraryId()))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
+            orderService.createOrderForAnyCopy(createDTO);
+        });
+
+        assertEquals("Нет доступных экземпляров книги в библиотеке", exception.getMessage());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    // Тесты для createOrdersBulk()
+    @Test
+    void Should_CreateValidOrdersAndReportFailures_When_BulkContainsInvalidItems() {
+        // Arrange
+        User user = createTestUser();
+        User busyUser = createTestUser();
+        BookInstance free = createTestBookInstance();
+        BookInstance secondFree = createTestBookInstance();
+        BookInstance thirdFree = createTestBookInstance();
+        BookInstance issued = createTestBookInstance();
+        issued.setStatus(BookInstanceStatus.ISSUED);
+        UUID missingInstanceId = UUID.randomUUID();
+        UUID missingUserId = UUID.randomUUID();
+        List<CreateOrderDTO> request = Arrays.asList(
+                new CreateOrderDTO(user.getId(), free.getId(), null, LocalDateTime.now().plusDays(14)),
+                new CreateOrderDTO(user.getId(), free.getId(), null, null),
+                new CreateOrderDTO(user.getId(), issued.getId(), null, null),
+                new CreateOrderDTO(user.getId(), missingInstanceId, null, null),
+                new CreateOrderDTO(missingUserId, secondFree.getId(), null, null),
+                new CreateOrderDTO(busyUser.getId(), thirdFree.getId(), null, null),
+                null);
+
+        when(config.getMaxBulkOrderSize()).thenReturn(200);
+        when(config.getMaxActiveOrdersPerUser()).thenReturn(3);
+        when(config.getReservationPeriodDays()).thenReturn(14);
+        when(userRepository.findAllById(any())).thenReturn(List.of(user, busyUser));
+        when(orderRepository.countByUserIdInAndStatusIn(any(), any()))
+                .thenReturn(List.of(new UserOrderCountDTO(busyUser.getId(), 3)));
+        when(bookInstanceRepository.lockAllByIdIn(any())).thenReturn(List.of(free, secondFree, thirdFree, issued));
+        when(bookInstanceRepository.updateStatusIn(List.of(free.getId()), BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED))
+                .thenReturn(1);
+        when(bookInstanceRepository.findByIdIn(List.of(free.getId()))).thenReturn(List.of(free));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId(UUID.randomUUID()));
+            return orders;
+        });
+
+        // Act
+        BulkOrderResultDTO result = orderService.createOrdersBulk(request);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertEquals(6, result.getFailed());
+        assertEquals(7, result.getItems().size());
+        assertNotNull(result.getItems().get(0).getOrder());
+        assertEquals(free.getId(), result.getItems().get(0).getOrder().getBookInstanceId());
+        assertEquals("Экземпляр книги указан в пакете повторно", result.getItems().get(1).getError());
+        assertEquals("Экземпляр книги недоступен для заказа", result.getItems().get(2).getError());
+        assertEquals("Экземпляр книги с id: " + missingInstanceId + " не найден", result.getItems().get(3).getError());
+        assertEquals("Пользователь с id: " + missingUserId + " не найден", result.getItems().get(4).getError());
+        assertEquals("Превышено максимальное количество активных заказов: 3", result.getItems().get(5).getError());
+        assertEquals("Не указан пользователь или экземпляр книги", result.getItems().get(6).getError());
+        verify(bookAvailabilityIndex).statusChanged(free, BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED);
+        verify(reservationExpiryService, times(1)).track(any(UUID.class), any(LocalDateTime.class));
+        verify(orderStatusMetrics, times(1)).transition(null, OrderStatus.CREATED);
+        verify(auditService, times(1)).logOrderOperation(eq(user), any(Order.class), eq(AuditOperation.ORDER), any(), any());
+    }
+
+    @Test
+    void Should_RejectOrdersAboveLimit_When_BulkExceedsUserLimit() {
+        // Arrange
+        User user = createTestUser();
+        BookInstance first = createTestBookInstance();
+        BookInstance second = createTestBookInstance();
+        List<CreateOrderDTO> request = List.of(
+                new CreateOrderDTO(user.getId(), first.getId(), null, null),
+                new CreateOrderDTO(user.getId(), second.getId(), null, null));
+
+        when(config.getMaxBulkOrderSize()).thenReturn(200);
+        when(config.getMaxActiveOrdersPerUser()).thenReturn(3);
+        when(config.getReservationPeriodDays()).thenReturn(14);
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(orderRepository.countByUserIdInAndStatusIn(any(), any()))
+                .thenReturn(List.of(new UserOrderCountDTO(user.getId(), 2)));
+        when(bookInstanceRepository.lockAllByIdIn(any())).thenReturn(List.of(first, second));
+        when(bookInstanceRepository.updateStatusIn(List.of(first.getId()), BookInstanceStatus.AVAILABLE, BookInstanceStatus.RESERVED))
+                .thenReturn(1);
+        when(bookInstanceRepository.findByIdIn(List.of(first.getId()))).thenReturn(List.of(first));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        BulkOrderResultDTO result = orderService.createOrdersBulk(request);
+
+        // Assert
+        assertEquals(1, result.getCreated());
+        assertNull(result.getItems().get(0).getError());
+        assertEquals("Превышено максимальное количество активных заказов: 3", result.getItems().get(1).getError());
+    }
+
+    @Test
+    void Should_ThrowIllegalStateException_When_NotAllInstancesReserved() {
+        // Arrange
+        User user = createTestUser();
+        BookInstance bookInstance = createTestBookInstance();
+        when(config.getMaxBulkOrderSize()).thenReturn(200);
+        when(config.getMaxActiveOrdersPerUser()).thenReturn(3);
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(bookInstanceRepository.lockAllByIdIn(any())).thenReturn(List.of(bookInstance));
+        when(bookInstanceRepository.updateStatusIn(any(), any(), any())).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> orderService.createOrdersBulk(
+                List.of(new CreateOrderDTO(user.getId(), bookInstance.getId(), null, null))));
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void Should_ThrowIllegalArgumentException_When_BulkTooLarge() {
+        // Arrange
+        when(config.getMaxBulkOrderSize()).thenReturn(1);
+        List<CreateOrderDTO> request = List.of(createTestCreateOrderDTO(), createTestCreateOrderDTO());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrdersBulk(request));
+        verifyNoInteractions(userRepository, bookInstanceRepository);
+    }
+
     // Тесты для updateOrder()
     @Test
     void Should_UpdateOrder_When_ValidDataProvided() {
@@ -370,7 +648,7 @@ class OrderServiceTest {
         updateDTO.setReservationDeadline(LocalDateTime.now().plusDays(10));
         updateDTO.setExpectedReturnDate(LocalDateTime.now().plusDays(20));
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.findDetailedById(orderId)).thenReturn(Optional.of(existingOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
 
         // Act
@@ -378,7 +656,7 @@ class OrderServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailedById(orderId);
         verify(orderRepository, times(1)).save(existingOrder);
     }
 
@@ -389,11 +667,12 @@ class OrderServiceTest {
         Order existingOrder = createTestOrder();
         existingOrder.setId(orderId);
         BookInstance bookInstance = existingOrder.getBookInstance();
+        bookInstance.setStatus(BookInstanceStatus.ISSUED);
 
         UpdateOrderDTO updateDTO = new UpdateOrderDTO();
         updateDTO.setStatus(OrderStatus.RETURNED);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.findDetailedById(orderId)).thenReturn(Optional.of(existingOrder));
         when(bookInstanceRepository.save(any(BookInstance.class))).thenReturn(bookInstance);
         when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
 
@@ -402,8 +681,9 @@ class OrderServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailedById(orderId);
         verify(bookInstanceRepository, times(1)).save(bookInstance);
+        verify(bookAvailabilityIndex, times(1)).statusChanged(bookInstance, BookInstanceStatus.ISSUED, BookInstanceStatus.AVAILABLE);
         verify(orderRepository, times(1)).save(existingOrder);
         verify(auditService, times(1)).logOrderOperation(any(User.class), any(Order.class), any(AuditOperation.class), any(), any());
     }
@@ -416,7 +696,7 @@ class OrderServiceTest {
         Order existingOrder = createTestOrder();
         existingOrder.setId(orderId);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.findDetailedById(orderId)).thenReturn(Optional.of(existingOrder));
         when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
 
         // Act
@@ -424,7 +704,7 @@ class OrderServiceTest {
 
         // Assert
         assertNotNull(result);
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailedById(orderId);
         verify(orderRepository, times(1)).save(existingOrder);
     }
 
@@ -436,8 +716,9 @@ class OrderServiceTest {
         Order existingOrder = createTestOrder();
         existingOrder.setId(orderId);
         BookInstance bookInstance = existingOrder.getBookInstance();
+        bookInstance.setStatus(BookInstanceStatus.RESERVED);
 
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+        when(orderRepository.findDetailedById(orderId)).thenReturn(Optional.of(existingOrder));
         when(bookInstanceRepository.save(any(BookInstance.class))).thenReturn(bookInstance);
         when(orderRepository.save(any(Order.class))).thenReturn(existingOrder);
 
@@ -445,8 +726,10 @@ class OrderServiceTest {
         orderService.cancelOrder(orderId);
 
         // Assert
-        verify(orderRepository, times(1)).findById(orderId);
+        verify(orderRepository, times(1)).findDetailedById(orderId);
         verify(bookInstanceRepository, times(1)).save(bookInstance);
+        verify(bookAvailabilityIndex, times(1)).statusChanged(bookInstance, BookInstanceStatus.RESERVED, BookInstanceStatus.AVAILABLE);
+        verify(orderStatusMetrics, times(1)).transition(OrderStatus.CREATED, OrderStatus.CANCELLED);
         verify(orderRepository, times(1)).save(existingOrder);
         verify(auditService, times(1)).logOrderOperation(any(User.class), any(Order.class), any(AuditOperation.class), any(), any());
     }
@@ -0,0 +1,64 @@
+package com.books.services;
+
+import com.books.entities.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatusMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderStatusMetrics orderStatusMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        orderStatusMetrics = new OrderStatusMetrics(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void Should_CountTransitionByStatuses_When_OutsideTransaction() {
+        // Act
+        orderStatusMetrics.transition(null, OrderStatus.CREATED);
+        orderStatusMetrics.transition(OrderStatus.CREATED, OrderStatus.ISSUED);
+        orderStatusMetrics.transitions(OrderStatus.ISSUED, OrderStatus.OVERDUE, 3);
+        orderStatusMetrics.transition(OrderStatus.ISSUED, OrderStatus.ISSUED);
+
+        // Assert
+        assertEquals(1.0, count("NONE", "CREATED"));
+        assertEquals(1.0, count("CREATED", "ISSUED"));
+        assertEquals(3.0, count("ISSUED", "OVERDUE"));
+        assertNull(meterRegistry.find(OrderStatusMetrics.TRANSITIONS).tags("from", "ISSUED", "to", "ISSUED").counter());
+    }
+
+    @Test
+    void Should_CountOnlyAfterCommit_When_InsideTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        orderStatusMetrics.transition(OrderStatus.CREATED, OrderStatus.CANCELLED);
+        double beforeCommit = count("CREATED", "CANCELLED");
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(0.0, beforeCommit);
+        assertEquals(1.0, count("CREATED", "CANCELLED"));
+    }
+
+    private double count(String from, String to) {
+        return meterRegistry.counter(OrderStatusMetrics.TRANSITIONS, "from", from, "to", to).count();
+    }
+}
@@ -0,0 +1,151 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.entities.*;
+import com.books.repositories.JobCheckpointRepository;
+import com.books.repositories.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OverdueDetectionServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private OrderStatusMetrics orderStatusMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationConfig config;
+
+    private OverdueDetectionService overdueDetectionService;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 6, 1, 2, 0);
+
+    @BeforeEach
+    void setUp() {
+        when(config.getOverdueChunkSize()).thenReturn(2);
+        overdueDetectionService = new OverdueDetectionService(orderRepository, checkpointRepository,
+                auditService, notificationService, orderStatusMetrics, transactionManager, config);
+    }
+
+    private Order issuedOrder(int daysLate) {
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setUser(new User());
+        order.setStatus(OrderStatus.ISSUED);
+        order.setExpectedReturnDate(now.minusDays(daysLate));
+        return order;
+    }
+
+    @Test
+    void Should_FlagAuditAndNotify_When_IssuedOrdersPastDue() {
+        // Arrange
+        Order first = issuedOrder(3);
+        Order second = issuedOrder(1);
+        JobCheckpoint checkpoint = new JobCheckpoint(OverdueDetectionService.JOB_NAME);
+        when(checkpointRepository.findById(OverdueDetectionService.JOB_NAME))
+                .thenReturn(Optional.empty(), Optional.of(checkpoint));
+        when(orderRepository.findExpiredReturnChunk(eq(OrderStatus.ISSUED), eq(now), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(first, second), List.of());
+        when(orderRepository.updateStatusIn(List.of(first.getId(), second.getId()), OrderStatus.ISSUED, OrderStatus.OVERDUE))
+                .thenReturn(2);
+        when(checkpointRepository.save(any(JobCheckpoint.class))).thenAnswer(invocation -> {
+            JobCheckpoint saved = invocation.getArgument(0);
+            checkpoint.setLastKeyTime(saved.getLastKeyTime());
+            checkpoint.setLastKeyId(saved.getLastKeyId());
+            return saved;
+        });
+
+        // Act
+        int flagged = overdueDetectionService.detectOverdueOrders(now);
+
+        // Assert
+        assertEquals(2, flagged);
+        assertEquals(OrderStatus.OVERDUE, first.getStatus());
+        verify(auditService, times(2)).logOrderOperation(any(), any(), eq(AuditOperation.UPDATE),
+                eq("Status: ISSUED"), eq("Status: OVERDUE"));
+        verify(notificationService).sendOverdueNotification(first);
+        verify(notificationService).sendOverdueNotification(second);
+        // Позиция сохранена после блока и сброшена по окончании прохода
+        assertEquals(second.getId(), checkpoint.getLastKeyId());
+        verify(checkpointRepository).delete(checkpoint);
+        verify(orderRepository).findExpiredReturnChunk(eq(OrderStatus.ISSUED), eq(now),
+                eq(second.getExpectedReturnDate()), eq(second.getId()), any(Pageable.class));
+    }
+
+    @Test
+    void Should_ResumeFromCheckpoint_When_PreviousRunInterrupted() {
+        // Arrange
+        JobCheckpoint checkpoint = new JobCheckpoint(OverdueDetectionService.JOB_NAME);
+        checkpoint.setLastKeyTime(now.minusDays(10));
+        checkpoint.setLastKeyId(UUID.randomUUID());
+        when(checkpointRepository.findById(OverdueDetectionService.JOB_NAME)).thenReturn(Optional.of(checkpoint));
+        when(orderRepository.findExpiredReturnChunk(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        // Act
+        int flagged = overdueDetectionService.detectOverdueOrders(now);
+
+        // Assert
+        assertEquals(0, flagged);
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(orderRepository).findExpiredReturnChunk(eq(OrderStatus.ISSUED), eq(now),
+                eq(checkpoint.getLastKeyTime()), eq(checkpoint.getLastKeyId()), pageable.capture());
+        assertEquals(2, pageable.getValue().getPageSize());
+        verify(checkpointRepository).delete(checkpoint);
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void Should_SkipReturnedOrders_When_StatusChangedConcurrently() {
+        // Arrange
+        Order overdue = issuedOrder(5);
+        Order returned = issuedOrder(4);
+        List<UUID> ids = List.of(overdue.getId(), returned.getId());
+        when(checkpointRepository.findById(OverdueDetectionService.JOB_NAME)).thenReturn(Optional.empty());
+        when(orderRepository.findExpiredReturnChunk(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(List.of(overdue, returned), List.of());
+        when(orderRepository.updateStatusIn(ids, OrderStatus.ISSUED, OrderStatus.OVERDUE)).thenReturn(1);
+        when(orderRepository.findIdsByIdInAndStatus(ids, OrderStatus.OVERDUE)).thenReturn(List.of(overdue.getId()));
+
+        // Act
+        int flagged = overdueDetectionService.detectOverdueOrders(now);
+
+        // Assert
+        assertEquals(1, flagged);
+        verify(notificationService).sendOverdueNotification(overdue);
+        verify(notificationService, never()).sendOverdueNotification(returned);
+        verify(orderStatusMetrics).transitions(OrderStatus.ISSUED, OrderStatus.OVERDUE, 1);
+        verify(auditService, times(1)).logOrderOperation(any(), eq(overdue), any(), any(), any());
+    }
+}
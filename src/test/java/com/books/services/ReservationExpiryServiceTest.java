@@ -0,0 +1,193 @@
+package com.books.services;
+
+import com.books.config.ApplicationConfig;
+import com.books.dto.ReservationDeadlineDTO;
+import com.books.entities.*;
+import com.books.repositories.BookInstanceRepository;
+import com.books.repositories.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private BookInstanceRepository bookInstanceRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private BookAvailabilityIndex bookAvailabilityIndex;
+
+    @Mock
+    private OrderStatusMetrics orderStatusMetrics;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationConfig config;
+
+    private ReservationExpiryService reservationExpiryService;
+
+    @BeforeEach
+    void setUp() {
+        when(config.getReservationExpiryBatchSize()).thenReturn(100);
+        reservationExpiryService = new ReservationExpiryService(orderRepository, bookInstanceRepository,
+                auditService, bookAvailabilityIndex, orderStatusMetrics, transactionManager, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationExpiryService.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Order reservedOrder(OrderStatus status) {
+        BookInstance bookInstance = new BookInstance();
+        bookInstance.setId(UUID.randomUUID());
+        bookInstance.setStatus(BookInstanceStatus.RESERVED);
+        Order order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setUser(new User());
+        order.setBookInstance(bookInstance);
+        order.setStatus(status);
+        order.setReservationDeadline(LocalDateTime.now().minusHours(1));
+        return order;
+    }
+
+    @Test
+    void Should_CancelAndReleaseInOneBatch_When_ReservationsExpired() {
+        // Arrange
+        Order created = reservedOrder(OrderStatus.CREATED);
+        Order ready = reservedOrder(OrderStatus.READY_FOR_ISSUE);
+        reservationExpiryService.track(created.getId(), created.getReservationDeadline());
+        reservationExpiryService.track(ready.getId(), ready.getReservationDeadline());
+        when(orderRepository.findExpiredReservations(any(), any(), any())).thenReturn(List.of(created, ready));
+        when(orderRepository.cancelExpiredReservations(any(), any(), any())).thenReturn(2);
+
+        // Act
+        int cancelled = reservationExpiryService.expireDue();
+
+        // Assert
+        assertEquals(2, cancelled);
+        assertEquals(0, reservationExpiryService.getTrackedCount());
+        verify(orderRepository, times(1)).cancelExpiredReservations(
+                eq(List.of(created.getId(), ready.getId())), any(), any());
+        ArgumentCaptor<List<UUID>> instanceIds = ArgumentCaptor.forClass(List.class);
+        verify(bookInstanceRepository, times(1)).updateStatusIn(instanceIds.capture(),
+                eq(BookInstanceStatus.RESERVED), eq(BookInstanceStatus.AVAILABLE));
+        assertEquals(List.of(created.getBookInstance().getId(), ready.getBookInstance().getId()), instanceIds.getValue());
+        verify(bookAvailabilityIndex, times(1)).statusChanged(created.getBookInstance(),
+                BookInstanceStatus.RESERVED, BookInstanceStatus.AVAILABLE);
+        verify(bookAvailabilityIndex, times(1)).statusChanged(ready.getBookInstance(),
+                BookInstanceStatus.RESERVED, BookInstanceStatus.AVAILABLE);
+        verify(auditService, times(2)).logOrderOperation(any(), any(), eq(AuditOperation.CANCEL), any(), any());
+    }
+
+    @Test
+    void Should_TrackDeadlineAfterCommit_When_CalledInsideTransaction() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        reservationExpiryService.track(UUID.randomUUID(), LocalDateTime.now().minusMinutes(1));
+        int cancelledBeforeCommit = reservationExpiryService.expireDue();
+
+        // Assert: до коммита срок не в очереди и не может сработать раньше, чем заказ виден в БД
+        assertEquals(0, cancelledBeforeCommit);
+        assertEquals(0, reservationExpiryService.getTrackedCount());
+        verifyNoInteractions(orderRepository);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, reservationExpiryService.getTrackedCount());
+    }
+
+    @Test
+    void Should_NotTouchDatabase_When_DeadlineInFuture() {
+        // Arrange
+        reservationExpiryService.track(UUID.randomUUID(), LocalDateTime.now().plusDays(7));
+
+        // Act
+        int cancelled = reservationExpiryService.expireDue();
+
+        // Assert
+        assertEquals(0, cancelled);
+        assertEquals(1, reservationExpiryService.getTrackedCount());
+        verifyNoInteractions(orderRepository, bookInstanceRepository, auditService);
+    }
+
+    @Test
+    void Should_SkipUpdates_When_OrderAlreadyIssuedOrExtended() {
+        // Arrange
+        reservationExpiryService.track(UUID.randomUUID(), LocalDateTime.now().minusMinutes(5));
+        when(orderRepository.findExpiredReservations(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        int cancelled = reservationExpiryService.expireDue();
+
+        // Assert
+        assertEquals(0, cancelled);
+        verify(orderRepository, never()).cancelExpiredReservations(any(), any(), any());
+        verifyNoInteractions(bookInstanceRepository, auditService);
+    }
+
+    @Test
+    void Should_ReleaseOnlyCancelledOrders_When_StatusChangedConcurrently() {
+        // Arrange
+        Order expired = reservedOrder(OrderStatus.CREATED);
+        Order issued = reservedOrder(OrderStatus.CREATED);
+        reservationExpiryService.track(expired.getId(), expired.getReservationDeadline());
+        reservationExpiryService.track(issued.getId(), issued.getReservationDeadline());
+        when(orderRepository.findExpiredReservations(any(), any(), any())).thenReturn(List.of(expired, issued));
+        when(orderRepository.cancelExpiredReservations(any(), any(), any())).thenReturn(1);
+        when(orderRepository.findIdsByIdInAndStatus(any(), eq(OrderStatus.CANCELLED))).thenReturn(List.of(expired.getId()));
+
+        // Act
+        int cancelled = reservationExpiryService.expireDue();
+
+        // Assert
+        assertEquals(1, cancelled);
+        verify(bookInstanceRepository).updateStatusIn(eq(List.of(expired.getBookInstance().getId())),
+                eq(BookInstanceStatus.RESERVED), eq(BookInstanceStatus.AVAILABLE));
+        verify(auditService, times(1)).logOrderOperation(any(), eq(expired), any(), any(), any());
+    }
+
+    @Test
+    void Should_LoadActiveDeadlines_When_Started() {
+        // Arrange
+        LocalDateTime future = LocalDateTime.now().plusDays(3);
+        when(orderRepository.findReservationDeadlines(List.of(OrderStatus.CREATED, OrderStatus.READY_FOR_ISSUE)))
+                .thenReturn(List.of(new ReservationDeadlineDTO(UUID.randomUUID(), future),
+                        new ReservationDeadlineDTO(UUID.randomUUID(), future.plusDays(1))));
+
+        // Act
+        reservationExpiryService.start();
+
+        // Assert
+        assertEquals(2, reservationExpiryService.getTrackedCount());
+    }
+}